@@ -0,0 +1,119 @@
+package com.calendar.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.calendar.CalendarApplication;
+import com.calendar.domain.Event;
+
+/**
+ * Fixtures shared by the benchmarks: deterministic CSV rows and events, and an
+ * application context on an in-memory H2 database.
+ */
+final class BenchmarkData {
+
+    static final String CSV_HEADER = "createdBy,title,description,startTime,endTime,event_type";
+    static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 8, 0);
+    static final int USERS = 50;
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private BenchmarkData() {
+    }
+
+    static String csvLine(int i) {
+        LocalDateTime start = BASE.plusMinutes(45L * i);
+        return "User" + (i % USERS) + ",Event " + i + ",\"Room " + (i % 12) + ", floor " + (i % 4) + "\","
+                + FORMAT.format(start) + "," + FORMAT.format(start.plusMinutes(30)) + ",Meeting";
+    }
+
+    static List<String> csvLines(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(csvLine(i));
+        }
+        return lines;
+    }
+
+    static Path writeCsv(int rows) throws IOException {
+        Path file = Files.createTempFile("benchmark-events", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write(csvLine(i));
+                writer.write("\r\n");
+            }
+        }
+        return file;
+    }
+
+    static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = BASE.plusMinutes(45L * i);
+            Event event = new Event();
+            event.setId((long) i + 1);
+            event.setCreatedBy("User" + (i % USERS));
+            event.setTitle("Event " + i);
+            event.setDescription("Room " + (i % 12) + ", floor " + (i % 4));
+            event.setStartTime(start);
+            event.setEndTime(start.plusMinutes(30));
+            event.setEvent_type("Meeting");
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Starts the application without a web server against a private H2
+     * database. Extra {@code key=value} properties override the defaults, e.g.
+     * {@code calendar.import.writer=jdbc}. They are passed as command line
+     * arguments so they win over application.properties.
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return start(WebApplicationType.NONE, database, properties);
+    }
+
+    /**
+     * Like {@link #start(String, String...)} but with the embedded servlet
+     * container listening on a random port, read back with {@link #port}.
+     */
+    static ConfigurableApplicationContext startServer(String database, String... properties) {
+        List<String> all = new ArrayList<>(List.of(properties));
+        all.add("server.port=0");
+        return start(WebApplicationType.SERVLET, database, all.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, String database,
+            String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(CalendarApplication.class)
+                .web(type)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,119 @@
+package com.calendar.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.calendar.domain.Event;
+import com.calendar.domain.EventSummary;
+import com.calendar.service.EventService;
+
+/**
+ * {@link EventService#searchEventsByDateRange} and its {@code EventSummary}
+ * projection against H2, across all users and for a single user, with the
+ * per-user range cache on and off. Each trial
+ * starts its own application context and seeds {@code rows} events spread one
+ * every 45 minutes over {@link BenchmarkData#USERS} users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSearchBenchmark {
+
+    private static final int INSERT_BATCH = 1_000;
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"1", "31"})
+    public int windowDays;
+
+    @Param({"false", "true"})
+    public boolean rangeCache;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start("searchbench", "calendar.cache.range.enabled=" + rangeCache);
+        eventService = context.getBean(EventService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        LocalDate middle = BenchmarkData.BASE.plusMinutes(45L * rows / 2).toLocalDate();
+        from = middle;
+        to = middle.plusDays(windowDays - 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Event> allUsers() {
+        return eventService.searchEventsByDateRange(from, to);
+    }
+
+    @Benchmark
+    public List<Event> singleUser() {
+        return eventService.searchEventsByDateRange("User7", from, to);
+    }
+
+    @Benchmark
+    public List<EventSummary> allUsersSummary() {
+        return eventService.searchSummariesByDateRange(from, to);
+    }
+
+    @Benchmark
+    public List<EventSummary> singleUserSummary() {
+        return eventService.searchSummariesByDateRange("User7", from, to);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (Event event : BenchmarkData.events(rows)) {
+            batch.add(new Object[] {
+                    event.getCreatedBy(), event.getTitle(), event.getDescription(),
+                    timestamp(event.getStartTime()), timestamp(event.getEndTime()), event.getEvent_type()
+            });
+            if (batch.size() == INSERT_BATCH) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insert(jdbcTemplate, batch);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO event (created_by, title, description, start_time, end_time, event_type)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+}
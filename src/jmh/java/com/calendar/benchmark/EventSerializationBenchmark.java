@@ -0,0 +1,85 @@
+package com.calendar.benchmark;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.calendar.domain.Event;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * JSON serialization of an event list, the way GET /events used to build the
+ * whole array ({@code writeValueAsBytes}) against streaming it element by
+ * element through a {@link SequenceWriter}. The ObjectMapper is configured
+ * like Spring Boot's.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Event> events;
+    private ObjectMapper objectMapper;
+    private ObjectWriter eventWriter;
+
+    @Setup
+    public void setUp() {
+        events = BenchmarkData.events(size);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        eventWriter = objectMapper.writerFor(Event.class);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws Exception {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public long writeSequence() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                SequenceWriter sequence = eventWriter.writeValuesAsArray(generator)) {
+            for (Event event : events) {
+                sequence.write(event);
+            }
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
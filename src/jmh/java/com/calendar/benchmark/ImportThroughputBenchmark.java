@@ -0,0 +1,92 @@
+package com.calendar.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.calendar.repository.EventRepository;
+
+/**
+ * End-to-end CSV import through the partitioned job, for each writer and
+ * partition count. Every invocation imports the same {@link #ROWS}-row file
+ * into an emptied table and is counted as {@code ROWS} operations, so the
+ * score reads directly as rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportThroughputBenchmark {
+
+    static final int ROWS = 20_000;
+
+    @Param({"1", "4", "8"})
+    public long partitions;
+
+    @Param({"jpa", "jdbc"})
+    public String writer;
+
+    private ConfigurableApplicationContext context;
+    private JobLauncher jobLauncher;
+    private Job job;
+    private EventRepository eventRepository;
+    private Path csvFile;
+    private long run;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkData.start("importbench", "calendar.import.writer=" + writer);
+        jobLauncher = context.getBean("jobLauncher", JobLauncher.class);
+        job = context.getBean("importEventPartitionedJob", Job.class);
+        eventRepository = context.getBean(EventRepository.class);
+        csvFile = BenchmarkData.writeCsv(ROWS);
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTable() {
+        eventRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public JobExecution importFile() throws Exception {
+        JobExecution execution = jobLauncher.run(job, new JobParametersBuilder()
+                .addString("filePath", csvFile.toString())
+                .addLong("partitions", partitions)
+                .addLong("run", ++run)
+                .toJobParameters());
+        if (execution.getStatus() != BatchStatus.COMPLETED) {
+            throw new IllegalStateException("Import finished with status " + execution.getStatus());
+        }
+        return execution;
+    }
+}
@@ -0,0 +1,71 @@
+package com.calendar.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.file.LineMapper;
+
+import com.calendar.config.spring_batch.EventFieldSetMapper;
+import com.calendar.config.spring_batch.EventLineMapper;
+import com.calendar.config.spring_batch.EventLineParser;
+import com.calendar.config.spring_batch.EventLineTokenizer;
+import com.calendar.domain.Event;
+
+/**
+ * CSV line to {@link Event}: the FieldSet based mapper against
+ * {@link EventLineParser}. Scores are lines per millisecond.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineMapperBenchmark {
+
+    private static final int LINES = 1_000;
+
+    private List<String> lines;
+    private LineMapper<Event> fieldSetMapper;
+    private LineMapper<Event> lineParser;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkData.csvLines(LINES);
+        EventLineMapper mapper = new EventLineMapper();
+        mapper.setLineTokenizer(new EventLineTokenizer());
+        mapper.setFieldSetMapper(new EventFieldSetMapper());
+        fieldSetMapper = mapper;
+        lineParser = new EventLineParser();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void fieldSetMapper(Blackhole blackhole) throws Exception {
+        map(fieldSetMapper, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void lineParser(Blackhole blackhole) throws Exception {
+        map(lineParser, blackhole);
+    }
+
+    private void map(LineMapper<Event> mapper, Blackhole blackhole) throws Exception {
+        for (int i = 0; i < LINES; i++) {
+            blackhole.consume(mapper.mapLine(lines.get(i), i + 2));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.calendar.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.calendar.domain.Event;
+
+/**
+ * {@code GET /events/search} over HTTP with 64 concurrent clients, platform
+ * versus virtual request threads. Tomcat's platform pool is capped at
+ * {@code tomcatThreads} so the comparison shows what happens once the clients
+ * outnumber it; the Hikari pool is the same in both modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    @Param({"16"})
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startServer("threadbench",
+                "spring.threads.virtual.enabled=" + virtual,
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "spring.datasource.hikari.maximum-pool-size=20");
+        seed(context.getBean(JdbcTemplate.class));
+        LocalDate day = BenchmarkData.BASE.plusMinutes(45L * ROWS / 2).toLocalDate();
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + BenchmarkData.port(context)
+                        + "/events/search?startDate=" + day + "&endDate=" + day.plusDays(6)))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int search() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (Event event : BenchmarkData.events(ROWS)) {
+            rows.add(new Object[] {
+                    event.getCreatedBy(), event.getTitle(), event.getDescription(),
+                    Timestamp.valueOf(event.getStartTime()), Timestamp.valueOf(event.getEndTime()),
+                    event.getEvent_type()
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event (created_by, title, description, start_time, end_time, event_type)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+}
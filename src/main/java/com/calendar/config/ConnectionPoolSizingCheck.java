@@ -0,0 +1,74 @@
+package com.calendar.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Warns at startup when running imports can take most of the connection pool.
+ * <p>
+ * With virtual threads the servlet container no longer caps concurrent
+ * requests, so the Hikari pool becomes the real limit on database work.
+ * Running imports hold one connection per job thread plus, when partitioned,
+ * one per thread of the shared partition pool; whatever is left is all that
+ * requests get, and they wait up to connection-timeout for it.
+ */
+@Component
+public class ConnectionPoolSizingCheck {
+
+	private static final Logger log = LoggerFactory.getLogger(ConnectionPoolSizingCheck.class);
+
+	private final DataSource dataSource;
+	private final boolean virtualThreads;
+	private final int maxConcurrentImports;
+	private final boolean partitioned;
+	private final int partitionThreads;
+
+	public ConnectionPoolSizingCheck(DataSource dataSource,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+			@Value("${calendar.import.async.max-concurrent:2}") int maxConcurrentImports,
+			@Value("${calendar.import.partitioned.enabled:false}") boolean partitioned,
+			@Value("${calendar.import.partitioned.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int partitionThreads) {
+		this.dataSource = dataSource;
+		this.virtualThreads = virtualThreads;
+		this.maxConcurrentImports = maxConcurrentImports;
+		this.partitioned = partitioned;
+		this.partitionThreads = partitionThreads;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void check() {
+		HikariDataSource hikari;
+		try {
+			if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+				return;
+			}
+			// behind ReplicaRoutingDataSource this is the primary pool, which imports write to
+			hikari = dataSource.unwrap(HikariDataSource.class);
+		} catch (SQLException e) {
+			return;
+		}
+		int poolSize = hikari.getMaximumPoolSize();
+		int importConnections = importConnections();
+		log.info("Connection pool: {} connections, up to {} held by imports, {} threads",
+				poolSize, importConnections, virtualThreads ? "virtual" : "platform");
+		if (poolSize - importConnections < poolSize / 2) {
+			log.warn("Imports can hold {} of {} pooled connections; raise spring.datasource.hikari.maximum-pool-size "
+					+ "or lower calendar.import.async.max-concurrent / calendar.import.partitioned.threads",
+					importConnections, poolSize);
+		}
+	}
+
+	int importConnections() {
+		return maxConcurrentImports + (partitioned ? partitionThreads : 0);
+	}
+}
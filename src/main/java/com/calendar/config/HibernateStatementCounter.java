@@ -0,0 +1,35 @@
+package com.calendar.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start()} and {@link #stop()}. Statements issued through JdbcTemplate
+ * or COPY bypass Hibernate and are not counted.
+ */
+public class HibernateStatementCounter implements StatementInspector {
+
+	private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+	@Override
+	public String inspect(String sql) {
+		int[] count = COUNT.get();
+		if (count != null) {
+			count[0]++;
+		}
+		return sql;
+	}
+
+	static void start() {
+		COUNT.set(new int[1]);
+	}
+
+	/**
+	 * @return Statements counted since {@link #start()}, or -1 if counting was not started
+	 */
+	static int stop() {
+		int[] count = COUNT.get();
+		COUNT.remove();
+		return count == null ? -1 : count[0];
+	}
+}
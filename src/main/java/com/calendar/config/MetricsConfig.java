@@ -0,0 +1,35 @@
+package com.calendar.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires the per-request Hibernate statement count. Service timers come from
+ * {@code @Timed}, repository timers from Spring Data's
+ * spring.data.repository.invocations and the import meters from
+ * ImportMetricsListener; all of them are scraped at /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer statementCounterCustomizer() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new HibernateStatementCounter());
+	}
+
+	@Bean
+	public WebMvcConfigurer statementMetricsConfigurer(MeterRegistry meterRegistry) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(new StatementMetricsInterceptor(meterRegistry));
+			}
+		};
+	}
+}
@@ -0,0 +1,78 @@
+package com.calendar.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the auto-configured pool with a {@link ReplicaRoutingDataSource}
+ * once calendar.datasource.replica.urls lists at least one replica. The
+ * primary pool keeps its spring.datasource settings; replicas share its
+ * credentials and driver unless calendar.datasource.replica.* overrides them.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "calendar.datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+
+	/**
+	 * Seconds the standby is behind; 0 while it has replayed everything it
+	 * received, so an idle primary does not read as lag.
+	 */
+	static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+			+ "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+			@Value("${calendar.datasource.replica.urls}") List<String> urls,
+			@Value("${calendar.datasource.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${calendar.datasource.replica.password:${spring.datasource.password:}}") String password,
+			@Value("${calendar.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+			@Value("${calendar.datasource.replica.max-lag:PT5S}") Duration maxLag,
+			@Value("${calendar.datasource.replica.lag-query:}") String lagQuery) {
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		primary.setPoolName("primary");
+
+		List<DataSource> replicas = new ArrayList<>();
+		for (String url : urls) {
+			HikariDataSource replica = DataSourceBuilder.create()
+					.type(HikariDataSource.class)
+					.driverClassName(properties.determineDriverClassName())
+					.url(url.trim())
+					.username(username)
+					.password(password)
+					.build();
+			replica.setPoolName("replica-" + replicas.size());
+			replica.setMaximumPoolSize(maximumPoolSize);
+			replica.setConnectionTimeout(primary.getConnectionTimeout());
+			replica.setReadOnly(true);
+			replicas.add(replica);
+		}
+		return new ReplicaRoutingDataSource(primary, replicas, lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery,
+				maxLag);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+}
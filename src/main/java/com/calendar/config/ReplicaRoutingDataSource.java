@@ -0,0 +1,131 @@
+package com.calendar.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the
+ * primary. Replicas take turns; one whose lag query fails or reports more
+ * than max-lag is left out until a later check finds it caught up, and with
+ * no replica left reads fall back to the primary.
+ * <p>
+ * The lookup runs when a connection is fetched, so this must sit behind a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for a
+ * connection before it marks the transaction read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	static final String PRIMARY = "primary";
+
+	private final DataSource primary;
+	private final List<DataSource> replicas;
+	private final String lagQuery;
+	private final Duration maxLag;
+	private final AtomicInteger next = new AtomicInteger();
+	private volatile int[] available = new int[0];
+
+	public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, Duration maxLag) {
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		this.lagQuery = lagQuery;
+		this.maxLag = maxLag;
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < this.replicas.size(); i++) {
+			targets.put(i, this.replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		checkLag();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return PRIMARY;
+		}
+		int[] candidates = available;
+		if (candidates.length == 0) {
+			return PRIMARY;
+		}
+		return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+	}
+
+	/**
+	 * Runs the lag query on every replica and keeps those within max-lag.
+	 */
+	@Scheduled(fixedDelayString = "${calendar.datasource.replica.lag-check-interval:PT5S}")
+	public void checkLag() {
+		List<Integer> healthy = new ArrayList<>();
+		for (int i = 0; i < replicas.size(); i++) {
+			Duration lag = lag(replicas.get(i));
+			boolean wasAvailable = isAvailable(i);
+			if (lag != null && lag.compareTo(maxLag) <= 0) {
+				healthy.add(i);
+				if (!wasAvailable) {
+					log.info("Replica {} is within {} of the primary; routing reads to it", i, maxLag);
+				}
+			} else if (wasAvailable && lag == null) {
+				log.warn("Replica {} is unreachable; reads go elsewhere until it answers", i);
+			} else if (wasAvailable) {
+				log.warn("Replica {} is {} behind; reads go elsewhere until it catches up", i, lag);
+			}
+		}
+		available = healthy.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	boolean isAvailable(int replica) {
+		for (int candidate : available) {
+			if (candidate == replica) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (DataSource replica : replicas) {
+			if (replica instanceof Closeable closeable) {
+				closeable.close();
+			}
+		}
+		if (primary instanceof Closeable closeable) {
+			closeable.close();
+		}
+	}
+
+	private Duration lag(DataSource replica) {
+		try {
+			Double seconds = new JdbcTemplate(replica).queryForObject(lagQuery, Double.class);
+			return seconds == null ? Duration.ZERO : Duration.ofMillis(Math.round(seconds * 1000));
+		} catch (DataAccessException e) {
+			log.debug("Lag query failed", e);
+			return null;
+		}
+	}
+}
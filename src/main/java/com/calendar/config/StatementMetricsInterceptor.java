@@ -0,0 +1,56 @@
+package com.calendar.config;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the Hibernate statements each request issued as
+ * {@code calendar.http.statements}, tagged like http.server.requests by
+ * method and URI template, so an N+1 regression shows up as a shifted
+ * distribution. Requests that go async, such as the change stream, are not
+ * recorded.
+ */
+public class StatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+	static final String STATEMENTS_SUMMARY = "calendar.http.statements";
+
+	private final MeterRegistry meterRegistry;
+
+	public StatementMetricsInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		HibernateStatementCounter.start();
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		HibernateStatementCounter.stop();
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		int statements = HibernateStatementCounter.stop();
+		if (statements < 0) {
+			return;
+		}
+		Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		DistributionSummary.builder(STATEMENTS_SUMMARY)
+				.baseUnit("statements")
+				.tag("method", request.getMethod())
+				.tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(statements);
+	}
+}
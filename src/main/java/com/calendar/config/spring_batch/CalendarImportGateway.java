@@ -1,11 +1,25 @@
 package com.calendar.config.spring_batch;
 
+import org.springframework.batch.core.JobExecution;
 import org.springframework.integration.annotation.Gateway;
 import org.springframework.integration.annotation.MessagingGateway;
 
+/**
+ * Launches imports on the asynchronous launcher; the returned execution may
+ * still be running.
+ */
 @MessagingGateway
 public interface CalendarImportGateway {
 
+    /**
+     * @throws ImportQueueFullException when the import queue rejected the job
+     */
     @Gateway(requestChannel = "importEventChannel")
-    void importEvents(String filePath);
+    JobExecution importEvents(String filePath) throws ImportQueueFullException;
+
+    /**
+     * @throws ImportQueueFullException when the import queue rejected the job
+     */
+    @Gateway(requestChannel = "importRestartChannel")
+    JobExecution restartImport(Long jobExecutionId) throws ImportQueueFullException;
 }
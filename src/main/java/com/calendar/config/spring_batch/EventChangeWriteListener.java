@@ -0,0 +1,66 @@
+package com.calendar.config.spring_batch;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.calendar.domain.Event;
+
+/**
+ * Appends one CREATED row to event_change per imported event, inside the
+ * chunk transaction.
+ * <p>
+ * The JPA writer leaves generated ids on the items, so their changes are
+ * batch-inserted directly. The JDBC and COPY writers do not return ids; for
+ * them the rows inserted above the highest id seen before the write are
+ * logged with one INSERT ... SELECT. Rows committed concurrently by another
+ * writer in that id range can then be logged twice, which readers of the
+ * change feed already tolerate because they apply changes as upserts.
+ */
+public class EventChangeWriteListener implements ItemWriteListener<Event> {
+
+    static final String INSERT_CHANGE_SQL = "INSERT INTO event_change (event_id, created_by, change_type, changed_at) "
+            + "VALUES (?, ?, 'CREATED', ?)";
+
+    static final String INSERT_CHANGES_SINCE_SQL = "INSERT INTO event_change (event_id, created_by, change_type, changed_at) "
+            + "SELECT id, created_by, 'CREATED', updated_at FROM event WHERE id > ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadLocal<Long> maxIdBeforeWrite = new ThreadLocal<>();
+
+    public EventChangeWriteListener(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void beforeWrite(Chunk<? extends Event> items) {
+        maxIdBeforeWrite.set(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM event", Long.class));
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends Event> items) {
+        Long maxId = maxIdBeforeWrite.get();
+        maxIdBeforeWrite.remove();
+
+        List<? extends Event> events = items.getItems();
+        if (events.stream().allMatch(event -> event.getId() != null)) {
+            jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, events, events.size(), (ps, event) -> {
+                ps.setLong(1, event.getId());
+                ps.setString(2, event.getCreatedBy());
+                ps.setTimestamp(3, event.getUpdatedAt() == null ? null : Timestamp.valueOf(event.getUpdatedAt()));
+            });
+        } else {
+            jdbcTemplate.update(INSERT_CHANGES_SINCE_SQL, maxId);
+        }
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<? extends Event> items) {
+        maxIdBeforeWrite.remove();
+    }
+}
@@ -0,0 +1,48 @@
+package com.calendar.config.spring_batch;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.calendar.domain.Event;
+
+/**
+ * Natural key of an imported row: SHA-256 over createdBy, title, startTime,
+ * endTime and event_type, as 64 hex digits. Fields are separated by a unit
+ * separator and null is written as NUL, so neither shifting text between
+ * fields nor an empty string can collide with another row. The description
+ * is left out; a row that only differs in it is the same event.
+ */
+final class EventContentHash {
+
+    private static final char SEPARATOR = '\u001f';
+    private static final char NULL = '\u0000';
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private EventContentHash() {
+    }
+
+    static String of(Event event) {
+        StringBuilder key = new StringBuilder(128);
+        append(key, event.getCreatedBy());
+        append(key, event.getTitle());
+        append(key, event.getStartTime());
+        append(key, event.getEndTime());
+        append(key, event.getEvent_type());
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void append(StringBuilder key, Object value) {
+        key.append(value == null ? NULL : value).append(SEPARATOR);
+    }
+}
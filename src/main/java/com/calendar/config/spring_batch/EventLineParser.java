@@ -0,0 +1,183 @@
+package com.calendar.config.spring_batch;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import com.calendar.domain.Event;
+
+/**
+ * Purpose-built replacement for {@link EventLineTokenizer} plus
+ * {@link EventFieldSetMapper}.
+ * <p>
+ * The line is split in a single pass that records field boundaries instead of
+ * building a FieldSet, and the {@code yyyy-MM-dd HH:mm:ss} timestamps are read
+ * digit by digit straight into {@link LocalDateTime} without going through
+ * SimpleDateFormat, Date, Instant and ZonedDateTime. Quoted fields follow the
+ * same rules as DelimitedLineTokenizer ({@code "a, ""b"""}); values are
+ * trimmed like FieldSet.readString. Stateless and thread-safe.
+ */
+public class EventLineParser implements LineMapper<Event> {
+
+    static final int FIELD_COUNT = 6;
+
+    private static final int CREATED_BY = 0;
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int START_TIME = 3;
+    private static final int END_TIME = 4;
+    private static final int EVENT_TYPE = 5;
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final int TIMESTAMP_LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+
+    @Override
+    public Event mapLine(String line, int lineNumber) {
+        int[] bounds = new int[FIELD_COUNT * 2];
+        String[] quoted = null;
+        int length = line.length();
+        int count = 0;
+        int position = 0;
+
+        while (true) {
+            if (count == FIELD_COUNT) {
+                throw new IncorrectTokenCountException(FIELD_COUNT, FIELD_COUNT + countDelimiters(line, position), line);
+            }
+            int fieldEnd;
+            if (position < length && line.charAt(position) == QUOTE) {
+                StringBuilder value = new StringBuilder();
+                int i = position + 1;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("Unterminated quoted field in line " + lineNumber);
+                    }
+                    char c = line.charAt(i++);
+                    if (c != QUOTE) {
+                        value.append(c);
+                    } else if (i < length && line.charAt(i) == QUOTE) {
+                        value.append(QUOTE);
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (quoted == null) {
+                    quoted = new String[FIELD_COUNT];
+                }
+                quoted[count] = value.toString().strip();
+                fieldEnd = indexOfDelimiter(line, i);
+            } else {
+                fieldEnd = indexOfDelimiter(line, position);
+                bounds[count * 2] = position;
+                bounds[count * 2 + 1] = fieldEnd;
+            }
+            count++;
+            if (fieldEnd >= length) {
+                break;
+            }
+            position = fieldEnd + 1;
+        }
+        if (count != FIELD_COUNT) {
+            throw new IncorrectTokenCountException(FIELD_COUNT, count, line);
+        }
+
+        Event event = new Event();
+        event.setCreatedBy(string(line, bounds, quoted, CREATED_BY));
+        event.setTitle(string(line, bounds, quoted, TITLE));
+        event.setDescription(string(line, bounds, quoted, DESCRIPTION));
+        event.setStartTime(timestamp(line, bounds, quoted, START_TIME, "startTime"));
+        event.setEndTime(timestamp(line, bounds, quoted, END_TIME, "endTime"));
+        event.setEvent_type(string(line, bounds, quoted, EVENT_TYPE));
+        return event;
+    }
+
+    private static String string(String line, int[] bounds, String[] quoted, int field) {
+        if (quoted != null && quoted[field] != null) {
+            return quoted[field];
+        }
+        int start = skipLeadingWhitespace(line, bounds[field * 2], bounds[field * 2 + 1]);
+        int end = skipTrailingWhitespace(line, start, bounds[field * 2 + 1]);
+        return line.substring(start, end);
+    }
+
+    private static LocalDateTime timestamp(String line, int[] bounds, String[] quoted, int field, String name) {
+        if (quoted != null && quoted[field] != null) {
+            return parseTimestamp(quoted[field], 0, quoted[field].length(), name);
+        }
+        int start = skipLeadingWhitespace(line, bounds[field * 2], bounds[field * 2 + 1]);
+        int end = skipTrailingWhitespace(line, start, bounds[field * 2 + 1]);
+        return parseTimestamp(line, start, end, name);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd HH:mm:ss} from text[start, end) without allocating intermediate objects.
+     */
+    static LocalDateTime parseTimestamp(CharSequence text, int start, int end, String name) {
+        if (end - start != TIMESTAMP_LENGTH
+                || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-'
+                || text.charAt(start + 10) != ' '
+                || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':') {
+            throw unparseable(text, start, end, name);
+        }
+        try {
+            return LocalDateTime.of(
+                    digits(text, start, end, 0, 4, name),
+                    digits(text, start, end, 5, 2, name),
+                    digits(text, start, end, 8, 2, name),
+                    digits(text, start, end, 11, 2, name),
+                    digits(text, start, end, 14, 2, name),
+                    digits(text, start, end, 17, 2, name));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + text.subSequence(start, end), e);
+        }
+    }
+
+    private static int digits(CharSequence text, int start, int end, int offset, int count, String name) {
+        int value = 0;
+        for (int i = start + offset; i < start + offset + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw unparseable(text, start, end, name);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException unparseable(CharSequence text, int start, int end, String name) {
+        return new IllegalArgumentException("Unparseable " + name + " (expected yyyy-MM-dd HH:mm:ss): "
+                + text.subSequence(start, end));
+    }
+
+    private static int indexOfDelimiter(String line, int from) {
+        int index = line.indexOf(DELIMITER, from);
+        return index < 0 ? line.length() : index;
+    }
+
+    private static int countDelimiters(String line, int from) {
+        int count = 0;
+        for (int i = from; i < line.length(); i++) {
+            if (line.charAt(i) == DELIMITER) {
+                count++;
+            }
+        }
+        return count + 1;
+    }
+
+    private static int skipLeadingWhitespace(String line, int start, int end) {
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipTrailingWhitespace(String line, int start, int end) {
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+}
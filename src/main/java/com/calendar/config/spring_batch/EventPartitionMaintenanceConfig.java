@@ -0,0 +1,80 @@
+package com.calendar.config.spring_batch;
+
+import java.util.List;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.calendar.service.EventPartitionService;
+import com.calendar.service.EventRangeCache;
+
+/**
+ * Maintenance of the partitioned event table as a Spring Batch job, so each
+ * run is recorded in the job repository next to the imports. The first step
+ * creates upcoming partitions and drains the default partition; the second
+ * detaches partitions older than calendar.partitioning.retention-months.
+ * Runs on calendar.partitioning.maintenance-cron, only with
+ * calendar.partitioning.enabled.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "calendar.partitioning.enabled", havingValue = "true")
+public class EventPartitionMaintenanceConfig {
+
+    @Bean
+    public Step createEventPartitionsStep(JobRepository jobRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          EventPartitionService eventPartitionService) {
+        return new StepBuilder("createEventPartitionsStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    List<String> created = eventPartitionService.createPartitions();
+                    contribution.incrementWriteCount(created.size());
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Step archiveEventPartitionsStep(JobRepository jobRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           EventPartitionService eventPartitionService,
+                                           EventRangeCache rangeCache) {
+        return new StepBuilder("archiveEventPartitionsStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    List<String> archived = eventPartitionService.archivePartitions();
+                    if (!archived.isEmpty()) {
+                        rangeCache.invalidateAll();
+                    }
+                    contribution.incrementWriteCount(archived.size());
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Job eventPartitionMaintenanceJob(JobRepository jobRepository,
+                                            Step createEventPartitionsStep,
+                                            Step archiveEventPartitionsStep) {
+        return new JobBuilder("eventPartitionMaintenanceJob", jobRepository)
+                .start(createEventPartitionsStep)
+                .next(archiveEventPartitionsStep)
+                .build();
+    }
+
+    @Bean
+    public EventPartitionMaintenanceLauncher eventPartitionMaintenanceLauncher(@Qualifier("jobLauncher") JobLauncher jobLauncher,
+                                                                               Job eventPartitionMaintenanceJob) {
+        return new EventPartitionMaintenanceLauncher(jobLauncher, eventPartitionMaintenanceJob);
+    }
+}
@@ -0,0 +1,39 @@
+package com.calendar.config.spring_batch;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Starts eventPartitionMaintenanceJob on its cron schedule, once per day by
+ * default, with the start time as the identifying parameter.
+ */
+public class EventPartitionMaintenanceLauncher {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPartitionMaintenanceLauncher.class);
+
+    private final JobLauncher jobLauncher;
+    private final Job job;
+
+    public EventPartitionMaintenanceLauncher(JobLauncher jobLauncher, Job job) {
+        this.jobLauncher = jobLauncher;
+        this.job = job;
+    }
+
+    @Scheduled(cron = "${calendar.partitioning.maintenance-cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            jobLauncher.run(job, new JobParametersBuilder()
+                    .addLocalDateTime("runAt", LocalDateTime.now())
+                    .toJobParameters());
+        } catch (JobExecutionException e) {
+            log.error("Failed to launch {}", job.getName(), e);
+        }
+    }
+}
@@ -1,49 +1,118 @@
 package com.calendar.config.spring_batch;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.calendar.domain.Event;
+import com.calendar.service.EventNotification;
+import com.calendar.service.EventPartitionService;
+import com.calendar.service.EventRangeCache;
+import com.calendar.service.EventStreamService;
+import com.calendar.service.ImportStagingService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManagerFactory;
 
 @Configuration
 public class ImportCalendarEventConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportCalendarEventConfig.class);
+
+    /**
+     * Line mapper selected by calendar.import.parser: {@code fast} is the
+     * allocation-light {@link EventLineParser}, {@code fieldset} the original
+     * DelimitedLineTokenizer and FieldSetMapper pair.
+     */
+    @Bean
+    public LineMapper<Event> eventLineMapper(@Value("${calendar.import.parser:fast}") String parser) {
+        switch (parser) {
+            case "fast":
+                return new EventLineParser();
+            case "fieldset":
+                DefaultLineMapper<Event> lineMapper = new EventLineMapper();
+
+                lineMapper.setLineTokenizer(new EventLineTokenizer());
+                lineMapper.setFieldSetMapper(new EventFieldSetMapper());
+                return lineMapper;
+            default:
+                throw new IllegalArgumentException("Unknown calendar.import.parser: " + parser);
+        }
+    }
+
     @Bean
     @StepScope
-    public FlatFileItemReader<Event> calenderEventReader(@Value("#{stepExecution}") org.springframework.batch.core.StepExecution stepExecution) {
+    public FlatFileItemReader<Event> calenderEventReader(@Value("#{stepExecution}") org.springframework.batch.core.StepExecution stepExecution,
+                                                         LineMapper<Event> eventLineMapper) {
         String filePath = stepExecution.getJobExecution().getJobParameters().getString("filePath");
         FlatFileItemReader<Event> reader = new FlatFileItemReader<>();
         reader.setResource(new FileSystemResource(filePath));
         reader.setLinesToSkip(1); // Skip header line
-        DefaultLineMapper<Event> lineMapper = new EventLineMapper();
-
-        lineMapper.setLineTokenizer(new EventLineTokenizer());
-        lineMapper.setFieldSetMapper(new EventFieldSetMapper());
-
-        reader.setLineMapper(lineMapper);
+        reader.setLineMapper(eventLineMapper);
         return reader;
     }
 
     @Bean
-    public ItemProcessor<Event, Event> calenderEventProcessor() {
+    public ImportConflictDetector importConflictDetector(@Value("${calendar.conflicts.import-mode:off}") String mode,
+                                                         JobRepository jobRepository) {
+        return new ImportConflictDetector(ImportConflictDetector.Mode.valueOf(mode.toUpperCase()), jobRepository);
+    }
+
+    /**
+     * Validates each row like EventService#save. With
+     * calendar.conflicts.import-mode=reject, rows overlapping an earlier row
+     * of the same user are filtered out; with calendar.import.dedup.enabled
+     * each row gets its {@link EventContentHash}.
+     */
+    @Bean
+    public ItemProcessor<Event, Event> calenderEventProcessor(EventPartitionService eventPartitionService,
+                                                              ImportConflictDetector importConflictDetector,
+                                                              @Value("${calendar.import.dedup.enabled:false}") boolean dedup) {
         return event -> {
             if (event.getStartTime() == null || event.getEndTime() == null) {
                 throw new IllegalArgumentException("startTime and endTime are required");
@@ -51,51 +120,242 @@ public class ImportCalendarEventConfig {
             if (event.getStartTime().isAfter(event.getEndTime())) {
                 throw new IllegalArgumentException("startTime must be before endTime");
             }
+            eventPartitionService.checkDuration(event);
+            if (!importConflictDetector.accept(event)) {
+                return null;
+            }
+            if (dedup) {
+                event.setContentHash(EventContentHash.of(event));
+            }
             return event;
         };
     }
 
+    /**
+     * Writer selected by calendar.import.writer:
+     * <ul>
+     * <li>{@code jpa} - JpaItemWriter, one INSERT round trip per row because of IDENTITY ids</li>
+     * <li>{@code jdbc} - JdbcBatchItemWriter, one JDBC batch per chunk (multi-row INSERT on
+     * PostgreSQL with reWriteBatchedInserts=true)</li>
+     * <li>{@code copy} - PostgreSQL COPY FROM STDIN per chunk; falls back to {@code jdbc}
+     * on other databases such as the H2 used in tests</li>
+     * </ul>
+     * calendar.import.dedup.enabled overrides the choice with the
+     * {@link UpsertEventItemWriter}, which skips rows already stored.
+     */
+    @Bean
+    public ItemWriter<Event> calenderEventWriter(@Value("${calendar.import.writer:jpa}") String writerType,
+                                                 @Value("${calendar.import.dedup.enabled:false}") boolean dedup,
+                                                 EntityManagerFactory entityManagerFactory,
+                                                 DataSource dataSource) {
+        if (dedup) {
+            return new UpsertEventItemWriter(dataSource, isPostgreSql(dataSource));
+        }
+        switch (writerType) {
+            case "jpa":
+                JpaItemWriter<Event> writer = new JpaItemWriter<>();
+                writer.setEntityManagerFactory(entityManagerFactory);
+                return writer;
+            case "jdbc":
+                return jdbcEventWriter(dataSource);
+            case "copy":
+                if (isPostgreSql(dataSource)) {
+                    return new PgCopyEventItemWriter(dataSource);
+                }
+                log.warn("calendar.import.writer=copy requires PostgreSQL, falling back to jdbc");
+                return jdbcEventWriter(dataSource);
+            default:
+                throw new IllegalArgumentException("Unknown calendar.import.writer: " + writerType);
+        }
+    }
+
+    private static JdbcBatchItemWriter<Event> jdbcEventWriter(DataSource dataSource) {
+        return new JdbcBatchItemWriterBuilder<Event>()
+                .dataSource(dataSource)
+                .sql("INSERT INTO event (created_by, title, description, start_time, end_time, event_type, updated_at) "
+                        + "VALUES (:createdBy, :title, :description, :startTime, :endTime, :event_type, LOCALTIMESTAMP)")
+                .beanMapped()
+                .build();
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+
+    @Bean
+    public ItemWriteListener<Event> eventRangeCacheWriteListener(EventRangeCache rangeCache) {
+        return new ItemWriteListener<>() {
+            @Override
+            public void afterWrite(Chunk<? extends Event> items) {
+                items.getItems().stream()
+                        .map(Event::getCreatedBy)
+                        .distinct()
+                        .forEach(rangeCache::invalidate);
+            }
+        };
+    }
+
     @Bean
-    public JpaItemWriter<Event> calenderEventWriter(EntityManagerFactory entityManagerFactory) {
-        JpaItemWriter<Event> writer = new JpaItemWriter<>();
-        writer.setEntityManagerFactory(entityManagerFactory);
-        return writer;
+    public ItemWriteListener<Event> eventChangeWriteListener(DataSource dataSource) {
+        return new EventChangeWriteListener(dataSource);
     }
 
+    @Bean
+    public ImportMetricsListener importMetricsListener(MeterRegistry meterRegistry) {
+        return new ImportMetricsListener(meterRegistry);
+    }
+
+    @Bean
+    public ImportErrorFileListener importErrorFileListener(
+            @Value("${calendar.import.error-dir:${calendar.import.staging-dir:${java.io.tmpdir}/calendar-import}/errors}") Path errorDir) {
+        return new ImportErrorFileListener(errorDir);
+    }
+
+    /**
+     * Up to calendar.import.skip-limit unparseable lines, invalid rows and
+     * rows the database refuses are skipped per step and written to the
+     * error file. The processor is not re-run when a chunk is retried, so its
+     * conflict tracking sees each row once.
+     */
     @Bean
     public Step importEventStep(JobRepository jobRepository,
                                 PlatformTransactionManager transactionManager,
                                 FlatFileItemReader<Event> reader,
                                 ItemProcessor<Event, Event> processor,
-                                JpaItemWriter<Event> writer) {
+                                ItemWriter<Event> writer,
+                                ItemWriteListener<Event> eventRangeCacheWriteListener,
+                                ItemWriteListener<Event> eventChangeWriteListener,
+                                ImportMetricsListener importMetricsListener,
+                                ImportErrorFileListener importErrorFileListener,
+                                @Value("${calendar.import.skip-limit:0}") int skipLimit) {
         return new StepBuilder("importEventStep", jobRepository)
                 .<Event, Event>chunk(100, transactionManager)
                 .reader(reader)
                 .processor(processor)
                 .writer(writer)
+                .listener(eventRangeCacheWriteListener)
+                .listener(eventChangeWriteListener)
+                .listener(importMetricsListener)
+                .faultTolerant()
+                .processorNonTransactional()
+                .skipLimit(skipLimit)
+                .skip(FlatFileParseException.class)
+                .skip(IllegalArgumentException.class)
+                .skip(DataIntegrityViolationException.class)
+                .listener(importErrorFileListener)
                 .build();
     }
 
+    @Bean
+    public JobExecutionListener stagedFileCleanupListener(ImportStagingService importStagingService,
+                                                          JobExplorer jobExplorer) {
+        return new StagedFileCleanupListener(importStagingService, jobExplorer);
+    }
+
+    /**
+     * Tells stream subscribers that an import finished, so they refresh once
+     * instead of receiving one notification per imported row.
+     */
+    @Bean
+    public JobExecutionListener importCompletedNotificationListener(EventStreamService eventStreamService) {
+        return new JobExecutionListener() {
+            @Override
+            public void afterJob(JobExecution jobExecution) {
+                if (jobExecution.getStatus() == BatchStatus.COMPLETED) {
+                    eventStreamService.publish(EventNotification.importCompleted(jobExecution.getId()));
+                }
+            }
+        };
+    }
+
     @Bean
     public Job importEventJob(JobRepository jobRepository,
-                              Step importEventStep) {
+                              Step importEventStep,
+                              JobExecutionListener stagedFileCleanupListener,
+                              JobExecutionListener importCompletedNotificationListener,
+                              ImportConflictDetector importConflictDetector) {
         return new JobBuilder("importEventJob", jobRepository)
                 .start(importEventStep)
+                .listener(stagedFileCleanupListener)
+                .listener(importCompletedNotificationListener)
+                .listener(importConflictDetector)
                 .build();
     }
 
+    /**
+     * Launches the import for each file path sent to importEventChannel and
+     * replies with the JobExecution, which is still running when the
+     * asynchronous launcher is used.
+     * <p>
+     * With calendar.import.dedup.enabled the job instance is identified by
+     * the file's SHA-256 instead of its staged path. An identical file that
+     * already completed, or is still running, is then answered with that
+     * earlier execution without being read again, and one whose import failed
+     * restarts where it stopped.
+     */
     @Bean
-    public IntegrationFlow importEventFlow(JobLauncher jobLauncher, Job importEventJob){
+    public IntegrationFlow importEventFlow(@Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
+                                           JobRepository jobRepository,
+                                           ImportStagingService importStagingService,
+                                           Job importEventJob,
+                                           Job importEventPartitionedJob,
+                                           @Value("${calendar.import.partitioned.enabled:false}") boolean partitioned,
+                                           @Value("${calendar.import.dedup.enabled:false}") boolean dedup){
+        Job job = partitioned ? importEventPartitionedJob : importEventJob;
         return IntegrationFlow.from("importEventChannel")
-                .handle(message -> {
+                .handle((payload, headers) -> {
+                    String filePath = (String) payload;
+                    JobParameters parameters = dedup
+                            ? new JobParametersBuilder()
+                                    .addString("checksum", checksum(importStagingService, filePath))
+                                    .addString("filePath", filePath, false)
+                                    .toJobParameters()
+                            : new JobParametersBuilder().addString("filePath", filePath).toJobParameters();
                     try {
-                        String filePath = (String) message.getPayload();
-                        jobLauncher.run(importEventJob, new JobParametersBuilder().addString("filePath", filePath).toJobParameters());
-                    } catch (Exception e) {
-                        e.printStackTrace();
+                        return jobLauncher.run(job, parameters);
+                    } catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException e) {
+                        return jobRepository.getLastJobExecution(job.getName(), parameters);
+                    } catch (JobExecutionException e) {
+                        throw new IllegalStateException("Failed to launch " + job.getName(), e);
                     }
                 })
                 .get();
     }
-    // TODO: Step, Job, Gateway, Flow, Controller
+
+    /**
+     * Restarts the job instance of the execution id sent to
+     * importRestartChannel with the same parameters, so it reads the same
+     * staged file and resumes after the last chunk each step committed.
+     */
+    @Bean
+    public IntegrationFlow importRestartFlow(@Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
+                                             JobExplorer jobExplorer,
+                                             Job importEventJob,
+                                             Job importEventPartitionedJob) {
+        return IntegrationFlow.from("importRestartChannel")
+                .handle((payload, headers) -> {
+                    JobExecution previous = jobExplorer.getJobExecution((Long) payload);
+                    Job job = importEventPartitionedJob.getName().equals(previous.getJobInstance().getJobName())
+                            ? importEventPartitionedJob : importEventJob;
+                    try {
+                        return jobLauncher.run(job, previous.getJobParameters());
+                    } catch (JobExecutionException e) {
+                        throw new IllegalStateException("Failed to restart " + job.getName(), e);
+                    }
+                })
+                .get();
+    }
+
+    private static String checksum(ImportStagingService importStagingService, String filePath) {
+        try {
+            return importStagingService.checksum(Path.of(filePath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + filePath, e);
+        }
+    }
 }
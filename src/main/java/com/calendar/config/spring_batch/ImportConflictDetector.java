@@ -0,0 +1,190 @@
+package com.calendar.config.spring_batch;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+
+import com.calendar.domain.Event;
+import com.calendar.service.ImportStatus;
+
+/**
+ * Finds rows of one import file that overlap other rows of the same user,
+ * selected by calendar.conflicts.import-mode:
+ * <ul>
+ * <li>{@code off} - nothing is tracked</li>
+ * <li>{@code flag} - every row is imported; the intervals are kept per user
+ * and, once the job ends, sorted and swept in O(n log n) to count the rows
+ * overlapping an earlier one</li>
+ * <li>{@code reject} - each user's accepted rows are kept in a sorted set; a
+ * row overlapping one of them is filtered out in O(log n), so the first row
+ * read wins (in read order per partition, so partitioned imports do not pick
+ * a deterministic winner)</li>
+ * </ul>
+ * The count and a sample of the conflicts go to the job execution context
+ * under {@link ImportStatus#CONFLICT_COUNT_KEY} and
+ * {@link ImportStatus#CONFLICTS_KEY}. Only rows of the same file are
+ * compared, not events already stored. State is kept per job execution in
+ * memory, since job scope does not reach partition worker threads, so a
+ * restarted execution only sees the rows it reads after the restart.
+ */
+public class ImportConflictDetector implements JobExecutionListener {
+
+    public enum Mode {
+        OFF, FLAG, REJECT
+    }
+
+    /** Conflicts described in the execution context; the count covers all of them. */
+    static final int MAX_SAMPLES = 100;
+
+    private static final Comparator<Interval> BY_START_END = Comparator.comparingLong(Interval::start)
+            .thenComparingLong(Interval::end);
+
+    private final Mode mode;
+    private final JobRepository jobRepository;
+    private final Map<Long, Tracker> trackers = new ConcurrentHashMap<>();
+
+    public ImportConflictDetector(Mode mode, JobRepository jobRepository) {
+        this.mode = mode;
+        this.jobRepository = jobRepository;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        if (mode != Mode.OFF) {
+            trackers.put(jobExecution.getId(), new Tracker());
+        }
+    }
+
+    /**
+     * Records a validated row of the running job.
+     *
+     * @return false when the row overlaps an accepted row and the mode is reject
+     */
+    public boolean accept(Event event) {
+        if (mode == Mode.OFF || event.getCreatedBy() == null) {
+            return true;
+        }
+        StepContext context = StepSynchronizationManager.getContext();
+        Tracker tracker = context == null ? null : trackers.get(context.getStepExecution().getJobExecutionId());
+        if (tracker == null) {
+            return true;
+        }
+        Interval interval = new Interval(toSeconds(event.getStartTime()), toSeconds(event.getEndTime()),
+                event.getTitle());
+        return mode == Mode.REJECT ? tracker.reject(event.getCreatedBy(), interval)
+                : tracker.flag(event.getCreatedBy(), interval);
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        Tracker tracker = trackers.remove(jobExecution.getId());
+        if (tracker == null) {
+            return;
+        }
+        if (mode == Mode.FLAG) {
+            tracker.sweep();
+        }
+        jobExecution.getExecutionContext().putLong(ImportStatus.CONFLICT_COUNT_KEY, tracker.count());
+        jobExecution.getExecutionContext().put(ImportStatus.CONFLICTS_KEY, new ArrayList<>(tracker.samples()));
+        jobRepository.updateExecutionContext(jobExecution);
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** Same test as the overlap queries: touching end points do not overlap. */
+    static boolean overlaps(Interval a, Interval b) {
+        return a.start < b.end && a.end > b.start;
+    }
+
+    record Interval(long start, long end, String title) {
+
+        @Override
+        public String toString() {
+            return "'" + title + "' " + LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC) + "/"
+                    + LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC);
+        }
+    }
+
+    /** Rows of one job execution, per user; shared by its partition threads. */
+    static final class Tracker {
+
+        private final Map<String, List<Interval>> rows = new HashMap<>();
+        private final Map<String, TreeSet<Interval>> accepted = new HashMap<>();
+        private final List<String> samples = new ArrayList<>();
+        private long count;
+
+        synchronized boolean flag(String user, Interval interval) {
+            rows.computeIfAbsent(user, key -> new ArrayList<>()).add(interval);
+            return true;
+        }
+
+        /**
+         * Accepted rows never overlap, so sorted by (start, end) the last one
+         * starting before the new row ends also ends latest and is the only
+         * one to test.
+         */
+        synchronized boolean reject(String user, Interval interval) {
+            TreeSet<Interval> intervals = accepted.computeIfAbsent(user, key -> new TreeSet<>(BY_START_END));
+            Interval before = intervals.lower(new Interval(interval.end, Long.MIN_VALUE, null));
+            if (before != null && overlaps(before, interval)) {
+                record(user, interval, before);
+                return false;
+            }
+            intervals.add(interval);
+            return true;
+        }
+
+        /**
+         * Sorts each user's rows by start and walks them once, keeping the row
+         * that ends latest; a row starting before that end overlaps it.
+         */
+        synchronized void sweep() {
+            rows.forEach((user, intervals) -> {
+                intervals.sort(BY_START_END);
+                Interval latest = null;
+                for (Interval interval : intervals) {
+                    if (latest != null && overlaps(latest, interval)) {
+                        record(user, interval, latest);
+                    }
+                    if (latest == null || interval.end > latest.end) {
+                        latest = interval;
+                    }
+                }
+            });
+            rows.clear();
+        }
+
+        private void record(String user, Interval interval, Interval other) {
+            count++;
+            if (samples.size() < MAX_SAMPLES) {
+                samples.add(user + ": " + interval + " overlaps " + other);
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        List<String> samples() {
+            return samples;
+        }
+    }
+}
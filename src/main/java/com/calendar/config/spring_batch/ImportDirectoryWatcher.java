@@ -0,0 +1,218 @@
+package com.calendar.config.spring_batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.integration.file.filters.FileListFilter;
+
+import com.calendar.service.ImportStagingService;
+
+/**
+ * Imports the files dropped into calendar.import.watch.dir, at most
+ * calendar.import.watch.concurrency at a time.
+ * <p>
+ * As the last filter of the polling adapter it accepts only as many files as
+ * there are free slots, oldest first; the others stay in the directory until
+ * a slot frees up, so a large drop is picked up gradually instead of queued
+ * in memory. Each accepted file is claimed by an atomic rename to
+ * {@code <name>.claimed}, so an instance polling the same shared directory
+ * that loses the race skips it, then moved into the staging directory and
+ * sent to importEventChannel like an upload. The slot is held until the job
+ * ends. A launch the import queue rejects, or a file that cannot be staged,
+ * is put back for a later poll; a failed import keeps its staged file and can
+ * be restarted.
+ * <p>
+ * A claim stamps the file with the time it was taken, and is short-lived:
+ * staging moves the file away. Claims older than
+ * calendar.import.watch.claim-timeout were left by an instance that stopped
+ * while staging, and are renamed back by {@link #restoreAbandonedClaims()}
+ * before polling starts.
+ */
+public class ImportDirectoryWatcher implements FileListFilter<File> {
+
+    static final String CLAIMED_SUFFIX = ".claimed";
+
+    private static final Logger log = LoggerFactory.getLogger(ImportDirectoryWatcher.class);
+
+    private final CalendarImportGateway calendarImportGateway;
+    private final ImportStagingService importStagingService;
+    private final JobExplorer jobExplorer;
+    private final Path dir;
+    private final Duration claimTimeout;
+    private final Duration completionPoll;
+    private final Semaphore slots;
+    private final Set<File> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImportDirectoryWatcher(CalendarImportGateway calendarImportGateway,
+                                  ImportStagingService importStagingService,
+                                  JobExplorer jobExplorer,
+                                  Path dir,
+                                  int concurrency,
+                                  Duration claimTimeout,
+                                  Duration completionPoll) {
+        this.calendarImportGateway = calendarImportGateway;
+        this.importStagingService = importStagingService;
+        this.jobExplorer = jobExplorer;
+        this.dir = dir;
+        this.claimTimeout = claimTimeout;
+        this.completionPoll = completionPoll;
+        this.slots = new Semaphore(concurrency);
+    }
+
+    @Override
+    public List<File> filterFiles(File[] files) {
+        List<File> accepted = new ArrayList<>();
+        File[] oldestFirst = files.clone();
+        Arrays.sort(oldestFirst, Comparator.comparingLong(File::lastModified));
+        for (File file : oldestFirst) {
+            if (!inFlight.contains(file) && slots.tryAcquire()) {
+                inFlight.add(file);
+                accepted.add(file);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Claims, stages and imports one accepted file, returning once its job
+     * has ended, and then frees the file's slot.
+     */
+    public void importFile(File file) {
+        Path source = file.toPath();
+        try {
+            Path claimed = claim(source);
+            if (claimed != null) {
+                importClaimed(source, claimed);
+            }
+        } catch (IOException e) {
+            log.error("Cannot import {}", source, e);
+        } finally {
+            inFlight.remove(file);
+            slots.release();
+        }
+    }
+
+    /**
+     * Renames the claims older than claim-timeout back to their original
+     * name, so the next poll picks them up again. A claim whose original name
+     * has been taken by a newer file is left alone.
+     */
+    public void restoreAbandonedClaims() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Instant abandoned = Instant.now().minus(claimTimeout);
+        try (DirectoryStream<Path> claims = Files.newDirectoryStream(dir, "*" + CLAIMED_SUFFIX)) {
+            for (Path claimed : claims) {
+                try {
+                    if (Files.getLastModifiedTime(claimed).toInstant().isAfter(abandoned)) {
+                        continue;
+                    }
+                    Path source = Files.move(claimed, unclaimed(claimed));
+                    log.warn("Restored {}, claimed over {} ago by an instance that did not stage it",
+                            source.getFileName(), claimTimeout);
+                } catch (NoSuchFileException e) {
+                    // restored or staged by another instance meanwhile
+                } catch (FileAlreadyExistsException e) {
+                    log.warn("Cannot restore {}: {} exists", claimed.getFileName(), e.getFile());
+                }
+            }
+        }
+    }
+
+    /**
+     * Renames the file out of the adapter's pattern and stamps it with the
+     * time of the claim; null when another poller renamed it first.
+     */
+    static Path claim(Path file) throws IOException {
+        Path claimed;
+        try {
+            claimed = Files.move(file, file.resolveSibling(file.getFileName() + CLAIMED_SUFFIX),
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        Files.setLastModifiedTime(claimed, FileTime.from(Instant.now()));
+        return claimed;
+    }
+
+    private static Path unclaimed(Path claimed) {
+        String name = claimed.getFileName().toString();
+        return claimed.resolveSibling(name.substring(0, name.length() - CLAIMED_SUFFIX.length()));
+    }
+
+    private void importClaimed(Path source, Path claimed) throws IOException {
+        Path stagedFile;
+        try {
+            stagedFile = importStagingService.stage(claimed);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.move(claimed, source);
+            } catch (IOException restore) {
+                e.addSuppressed(restore);
+            }
+            throw e;
+        }
+        JobExecution execution;
+        try {
+            execution = calendarImportGateway.importEvents(stagedFile.toString());
+        } catch (ImportQueueFullException e) {
+            Files.move(stagedFile, source);
+            log.warn("Import queue is full, {} is retried on a later poll", source.getFileName());
+            return;
+        } catch (RuntimeException e) {
+            Files.move(stagedFile, source);
+            throw e;
+        }
+        if (!stagedFile.toString().equals(execution.getJobParameters().getString("filePath"))) {
+            // deduplicating import: the same file is already imported or being imported
+            importStagingService.release(stagedFile.toString());
+            log.info("{} was already imported by job execution {}", source.getFileName(), execution.getId());
+            return;
+        }
+
+        log.info("Importing {} as job execution {}", source.getFileName(), execution.getId());
+        BatchStatus status = awaitCompletion(execution.getId());
+        if (status == BatchStatus.COMPLETED) {
+            log.info("Imported {} (job execution {})", source.getFileName(), execution.getId());
+        } else {
+            log.warn("Import of {} (job execution {}) ended {}; its staged file {} is kept for a restart",
+                    source.getFileName(), execution.getId(), status, stagedFile);
+        }
+    }
+
+    private BatchStatus awaitCompletion(Long jobExecutionId) {
+        try {
+            JobExecution execution = jobExplorer.getJobExecution(jobExecutionId);
+            while (execution != null && execution.isRunning()) {
+                Thread.sleep(completionPoll.toMillis());
+                execution = jobExplorer.getJobExecution(jobExecutionId);
+            }
+            return execution == null ? BatchStatus.UNKNOWN : execution.getStatus();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BatchStatus.UNKNOWN;
+        }
+    }
+}
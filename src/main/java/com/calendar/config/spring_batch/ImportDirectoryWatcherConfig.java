@@ -0,0 +1,85 @@
+package com.calendar.config.spring_batch;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.Pollers;
+import org.springframework.integration.file.dsl.Files;
+import org.springframework.integration.file.filters.ChainFileListFilter;
+import org.springframework.integration.file.filters.LastModifiedFileListFilter;
+import org.springframework.integration.file.filters.SimplePatternFileListFilter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.calendar.service.ImportStagingService;
+
+/**
+ * Imports CSV files dropped into calendar.import.watch.dir, e.g. nightly
+ * exports on a shared disk, through the same importEventChannel as uploads.
+ * <p>
+ * The directory is polled rather than watched with a WatchService, which
+ * misses changes on network file systems. Files still being written are left
+ * alone until unmodified for calendar.import.watch.min-age-seconds. Accepted
+ * files go through an executor channel whose threads each import one file;
+ * {@link ImportDirectoryWatcher} only accepts as many files as there are
+ * threads, so the channel's queue never fills and the poller never blocks.
+ */
+@Configuration
+@ConditionalOnProperty(name = "calendar.import.watch.enabled", havingValue = "true")
+public class ImportDirectoryWatcherConfig {
+
+    private static final Duration COMPLETION_POLL = Duration.ofSeconds(1);
+
+    @Bean
+    public TaskExecutor importWatchTaskExecutor(
+            @Value("${calendar.import.watch.concurrency:2}") int concurrency,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("import-watch-");
+        if (virtualThreads) {
+            executor.setThreadFactory(ImportLauncherConfig.virtualThreadFactory("import-watch-"));
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(initMethod = "restoreAbandonedClaims")
+    public ImportDirectoryWatcher importDirectoryWatcher(CalendarImportGateway calendarImportGateway,
+                                                         ImportStagingService importStagingService,
+                                                         JobExplorer jobExplorer,
+                                                         @Value("${calendar.import.watch.dir}") Path dir,
+                                                         @Value("${calendar.import.watch.concurrency:2}") int concurrency,
+                                                         @Value("${calendar.import.watch.claim-timeout:PT30M}") Duration claimTimeout) {
+        return new ImportDirectoryWatcher(calendarImportGateway, importStagingService, jobExplorer, dir, concurrency,
+                claimTimeout, COMPLETION_POLL);
+    }
+
+    @Bean
+    public IntegrationFlow importWatchFlow(ImportDirectoryWatcher importDirectoryWatcher,
+                                           TaskExecutor importWatchTaskExecutor,
+                                           @Value("${calendar.import.watch.dir}") Path dir,
+                                           @Value("${calendar.import.watch.pattern:*.csv}") String pattern,
+                                           @Value("${calendar.import.watch.poll-interval-ms:5000}") long pollInterval,
+                                           @Value("${calendar.import.watch.min-age-seconds:10}") long minAge,
+                                           @Value("${calendar.import.watch.concurrency:2}") int concurrency) {
+        ChainFileListFilter<File> filter = new ChainFileListFilter<>();
+        filter.addFilter(new SimplePatternFileListFilter(pattern));
+        filter.addFilter(new LastModifiedFileListFilter(minAge));
+        filter.addFilter(importDirectoryWatcher);
+        return IntegrationFlow.from(Files.inboundAdapter(dir.toFile()).autoCreateDirectory(true).filter(filter),
+                        e -> e.poller(Pollers.fixedDelay(Duration.ofMillis(pollInterval)).maxMessagesPerPoll(concurrency)))
+                .channel(c -> c.executor("importWatchChannel", importWatchTaskExecutor))
+                .handle(message -> importDirectoryWatcher.importFile((File) message.getPayload()))
+                .get();
+    }
+}
@@ -0,0 +1,121 @@
+package com.calendar.config.spring_batch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.NestedExceptionUtils;
+
+import com.calendar.domain.Event;
+import com.calendar.service.ImportStatus;
+
+/**
+ * Appends every line an import skips to
+ * {@code <calendar.import.error-dir>/import-<jobInstanceId>-errors.csv}, as
+ * an {@code error,input} CSV row. Lines rejected by the reader are copied as
+ * read; rows rejected by the processor or writer are written back in the
+ * import format, so the input column can be fixed and uploaded again.
+ * <p>
+ * The file is per job instance: partitions of one run and restarts of a
+ * failed run append to the same file. Its path is put in the job execution
+ * context under {@link ImportStatus#ERROR_FILE_KEY}. Skip listeners run just
+ * before the chunk commits, so a chunk that still rolls back can leave lines
+ * that are written again when the chunk is retried.
+ */
+public class ImportErrorFileListener implements SkipListener<Event, Event> {
+
+    static final String HEADER = "error,input";
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path errorDir;
+
+    public ImportErrorFileListener(Path errorDir) {
+        this.errorDir = errorDir.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void onSkipInRead(Throwable t) {
+        String input = t instanceof FlatFileParseException parse ? parse.getInput() : null;
+        append(reason(t), input);
+    }
+
+    @Override
+    public void onSkipInProcess(Event item, Throwable t) {
+        append(reason(t), toLine(item));
+    }
+
+    @Override
+    public void onSkipInWrite(Event item, Throwable t) {
+        append(reason(t), toLine(item));
+    }
+
+    Path errorFile(long jobInstanceId) {
+        return errorDir.resolve("import-" + jobInstanceId + "-errors.csv");
+    }
+
+    private synchronized void append(String reason, String input) {
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return;
+        }
+        StepExecution stepExecution = context.getStepExecution();
+        Path file = errorFile(stepExecution.getJobExecution().getJobInstance().getInstanceId());
+        try {
+            Files.createDirectories(errorDir);
+            boolean created = Files.notExists(file);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (created) {
+                    writer.write(HEADER);
+                    writer.newLine();
+                }
+                writer.write(quote(reason) + "," + quote(input));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write import error file " + file, e);
+        }
+        stepExecution.getJobExecution().getExecutionContext().putString(ImportStatus.ERROR_FILE_KEY, file.toString());
+    }
+
+    /** The parser's own message rather than the reader's "Parsing error at line ..." wrapper. */
+    private static String reason(Throwable t) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(t);
+        return cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+    }
+
+    /** The row in the import format: createdBy,title,description,startTime,endTime,event_type. */
+    static String toLine(Event event) {
+        return String.join(",", field(event.getCreatedBy()), field(event.getTitle()), field(event.getDescription()),
+                field(format(event.getStartTime())), field(format(event.getEndTime())), field(event.getEvent_type()));
+    }
+
+    /** Quoted only when the value would otherwise split or lose its quotes. */
+    private static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ? quote(value) : value;
+    }
+
+    private static String format(LocalDateTime time) {
+        return time == null ? null : TIMESTAMP.format(time);
+    }
+
+    /** Null stays an empty field; anything else is quoted with inner quotes doubled. */
+    static String quote(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
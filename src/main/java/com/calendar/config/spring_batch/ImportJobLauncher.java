@@ -0,0 +1,55 @@
+package com.calendar.config.spring_batch;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * {@link TaskExecutorJobLauncher} that throws {@link ImportQueueFullException}
+ * when its executor rejects the job.
+ * <p>
+ * The plain launcher swallows the rejection and returns the execution marked
+ * FAILED, which callers cannot tell apart from a job that was started and
+ * failed quickly on the worker thread: the execution it returns is the one
+ * the worker updates.
+ */
+public class ImportJobLauncher extends TaskExecutorJobLauncher {
+
+    private final ThreadLocal<TaskRejectedException> rejection = new ThreadLocal<>();
+
+    @Override
+    public void setTaskExecutor(TaskExecutor taskExecutor) {
+        super.setTaskExecutor(task -> {
+            try {
+                taskExecutor.execute(task);
+            } catch (TaskRejectedException e) {
+                rejection.set(e);
+                throw e;
+            }
+        });
+    }
+
+    @Override
+    public JobExecution run(Job job, JobParameters jobParameters) throws JobExecutionAlreadyRunningException,
+            JobRestartException, JobInstanceAlreadyCompleteException, JobParametersInvalidException {
+        rejection.remove();
+        try {
+            JobExecution execution = super.run(job, jobParameters);
+            TaskRejectedException rejected = rejection.get();
+            if (rejected != null) {
+                throw new ImportQueueFullException("Import queue is full, " + job.getName() + " execution "
+                        + execution.getId() + " was not started", rejected);
+            }
+            return execution;
+        } finally {
+            rejection.remove();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.calendar.config.spring_batch;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Launcher used for uploads: jobs run on a bounded pool so the request thread
+ * returns as soon as the job is queued. When the pool and its queue are full
+ * the launch throws {@link ImportQueueFullException} instead of blocking the
+ * caller.
+ * <p>
+ * With spring.threads.virtual.enabled the pool creates virtual threads; it is
+ * kept as a pool only to bound how many imports hold database connections at
+ * once.
+ */
+@Configuration
+public class ImportLauncherConfig {
+
+    @Bean
+    public TaskExecutor importJobTaskExecutor(
+            @Value("${calendar.import.async.max-concurrent:2}") int maxConcurrent,
+            @Value("${calendar.import.async.queue-capacity:10}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        if (virtualThreads) {
+            executor.setThreadFactory(virtualThreadFactory("import-job-"));
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    static ThreadFactory virtualThreadFactory(String prefix) {
+        return Thread.ofVirtual().name(prefix, 1).factory();
+    }
+
+    @Bean
+    public ImportJobLauncher asyncJobLauncher(JobRepository jobRepository,
+                                              TaskExecutor importJobTaskExecutor) throws Exception {
+        ImportJobLauncher launcher = new ImportJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        launcher.setTaskExecutor(importJobTaskExecutor);
+        launcher.afterPropertiesSet();
+        return launcher;
+    }
+}
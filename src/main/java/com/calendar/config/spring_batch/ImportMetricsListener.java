@@ -0,0 +1,83 @@
+package com.calendar.config.spring_batch;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times each import chunk from its start to the end of its commit
+ * ({@code calendar.import.chunk}, tagged by step and outcome) and counts the
+ * rows committed ({@code calendar.import.rows}), whose rate is the import
+ * throughput. Partition workers report under their step name without the
+ * partition suffix. State lives in the chunk context, so one instance serves
+ * every partition thread.
+ */
+public class ImportMetricsListener implements ChunkListener {
+
+    static final String CHUNK_TIMER = "calendar.import.chunk";
+    static final String ROWS_COUNTER = "calendar.import.rows";
+
+    private static final String START = ImportMetricsListener.class.getName() + ".start";
+    private static final String WRITE_COUNT = ImportMetricsListener.class.getName() + ".writeCount";
+
+    private final MeterRegistry meterRegistry;
+
+    public ImportMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        context.setAttribute(START, System.nanoTime());
+        context.setAttribute(WRITE_COUNT, stepExecution(context).getWriteCount());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        String step = stepName(context);
+        record(context, step, "success");
+        Object before = context.getAttribute(WRITE_COUNT);
+        if (before != null) {
+            long rows = stepExecution(context).getWriteCount() - (Long) before;
+            Counter.builder(ROWS_COUNTER)
+                    .baseUnit("rows")
+                    .tag("step", step)
+                    .register(meterRegistry)
+                    .increment(rows);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        record(context, stepName(context), "failure");
+    }
+
+    private void record(ChunkContext context, String step, String outcome) {
+        Object start = context.getAttribute(START);
+        if (start == null) {
+            return;
+        }
+        Timer.builder(CHUNK_TIMER)
+                .tag("step", step)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+    }
+
+    private static StepExecution stepExecution(ChunkContext context) {
+        return context.getStepContext().getStepExecution();
+    }
+
+    private static String stepName(ChunkContext context) {
+        String name = context.getStepContext().getStepName();
+        int partition = name.indexOf(':');
+        return partition < 0 ? name : name.substring(0, partition);
+    }
+}
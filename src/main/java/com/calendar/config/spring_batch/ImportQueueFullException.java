@@ -0,0 +1,13 @@
+package com.calendar.config.spring_batch;
+
+/**
+ * Thrown by {@link ImportJobLauncher} when the import pool and its queue are
+ * full and the job could not be started. The execution the launcher created
+ * is recorded as FAILED without having run.
+ */
+public class ImportQueueFullException extends RuntimeException {
+
+    public ImportQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,134 @@
+package com.calendar.config.spring_batch;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+import com.calendar.domain.Event;
+
+/**
+ * Reads the lines of one byte range produced by {@link LineRangePartitioner}.
+ * Blank lines are skipped. The item count and the byte offset after the last
+ * line read are saved in the step's ExecutionContext, so a restarted
+ * partition seeks straight past its last committed chunk instead of reading
+ * the lines before it again. A line that cannot be mapped is reported as a
+ * FlatFileParseException carrying the line, like FlatFileItemReader does.
+ */
+public class LineRangeItemReader extends AbstractItemCountingItemStreamItemReader<Event> {
+
+    private final Path file;
+    private final long startOffset;
+    private final long endOffset;
+    private final LineMapper<Event> lineMapper;
+
+    private static final String POSITION = "position";
+
+    private InputStream input;
+    private long position;
+    private long restartPosition = -1;
+    private byte[] lineBuffer = new byte[512];
+
+    public LineRangeItemReader(Path file, long startOffset, long endOffset, LineMapper<Event> lineMapper) {
+        this.file = file;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineMapper = lineMapper;
+        setName("lineRangeItemReader");
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        String key = getExecutionContextKey(POSITION);
+        restartPosition = isSaveState() && executionContext.containsKey(key) ? executionContext.getLong(key) : -1;
+        super.open(executionContext);
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        position = restartPosition >= 0 ? restartPosition : startOffset;
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(position);
+        input = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+    }
+
+    /**
+     * Called on restart with the saved item count; the saved position is
+     * already past those items.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (restartPosition < 0) {
+            super.jumpToItem(itemIndex);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putLong(getExecutionContextKey(POSITION), position);
+        }
+    }
+
+    @Override
+    protected Event doRead() throws Exception {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isEmpty());
+        try {
+            return lineMapper.mapLine(line, getCurrentItemCount());
+        } catch (Exception e) {
+            throw new FlatFileParseException("Parsing error at item " + getCurrentItemCount() + " of " + file
+                    + " from offset " + startOffset + ", input=[" + line + "]", e, line, getCurrentItemCount());
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if (input != null) {
+            input.close();
+            input = null;
+        }
+    }
+
+    private String readLine() throws IOException {
+        if (position >= endOffset) {
+            return null;
+        }
+        int length = 0;
+        while (position < endOffset) {
+            int b = input.read();
+            if (b == -1) {
+                break;
+            }
+            position++;
+            if (b == '\n') {
+                break;
+            }
+            if (length == lineBuffer.length) {
+                lineBuffer = Arrays.copyOf(lineBuffer, length * 2);
+            }
+            lineBuffer[length++] = (byte) b;
+        }
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+}
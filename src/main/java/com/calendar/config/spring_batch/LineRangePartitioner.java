@@ -0,0 +1,81 @@
+package com.calendar.config.spring_batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * Splits a CSV file into byte ranges that start and end on line boundaries,
+ * one per partition, after skipping the header line.
+ */
+public class LineRangePartitioner implements Partitioner {
+
+    public static final String FILE_PATH = "filePath";
+    public static final String START_OFFSET = "startOffset";
+    public static final String END_OFFSET = "endOffset";
+
+    private final Path file;
+    private final int partitions;
+
+    public LineRangePartitioner(Path file, int partitions) {
+        this.file = file;
+        this.partitions = partitions;
+    }
+
+    /**
+     * @param gridSize ignored; the partition count is fixed at construction so it can come from job parameters
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> result = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextLineStart(channel, 0, size);
+            long chunk = Math.max(1, (size - dataStart) / Math.max(1, partitions));
+
+            long start = dataStart;
+            for (int i = 0; i < partitions && start < size; i++) {
+                long end = i == partitions - 1 ? size : nextLineStart(channel, start + chunk, size);
+                ExecutionContext context = new ExecutionContext();
+                context.putString(FILE_PATH, file.toString());
+                context.putLong(START_OFFSET, start);
+                context.putLong(END_OFFSET, end);
+                result.put("partition" + i, context);
+                start = end;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to partition " + file, e);
+        }
+        return result;
+    }
+
+    /**
+     * Offset of the first byte after the next '\n' at or after position, or size if there is none.
+     */
+    static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,123 @@
+package com.calendar.config.spring_batch;
+
+import java.nio.file.Path;
+
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.calendar.domain.Event;
+
+/**
+ * Partitioned variant of the import: the file is split into line-aligned byte
+ * ranges and each range runs as its own worker step on a shared thread pool.
+ * The partition count defaults to calendar.import.partitioned.partitions and
+ * can be overridden per run with the "partitions" job parameter.
+ */
+@Configuration
+public class PartitionedImportConfig {
+
+    @Bean
+    public TaskExecutor importPartitionTaskExecutor(
+            @Value("${calendar.import.partitioned.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-partition-");
+        if (virtualThreads) {
+            executor.setThreadFactory(ImportLauncherConfig.virtualThreadFactory("import-partition-"));
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    @StepScope
+    public LineRangePartitioner importEventPartitioner(
+            @Value("#{jobParameters['filePath']}") String filePath,
+            @Value("#{jobParameters['partitions'] ?: ${calendar.import.partitioned.partitions:4}}") Long partitions) {
+        return new LineRangePartitioner(Path.of(filePath), partitions.intValue());
+    }
+
+    @Bean
+    @StepScope
+    public LineRangeItemReader partitionedEventReader(
+            @Value("#{stepExecutionContext['filePath']}") String filePath,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset,
+            LineMapper<Event> eventLineMapper) {
+        return new LineRangeItemReader(Path.of(filePath), startOffset, endOffset, eventLineMapper);
+    }
+
+    @Bean
+    public Step importEventWorkerStep(JobRepository jobRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      LineRangeItemReader partitionedEventReader,
+                                      ItemProcessor<Event, Event> processor,
+                                      ItemWriter<Event> writer,
+                                      ItemWriteListener<Event> eventRangeCacheWriteListener,
+                                      ItemWriteListener<Event> eventChangeWriteListener,
+                                      ImportMetricsListener importMetricsListener,
+                                      ImportErrorFileListener importErrorFileListener,
+                                      @Value("${calendar.import.skip-limit:0}") int skipLimit) {
+        return new StepBuilder("importEventWorkerStep", jobRepository)
+                .<Event, Event>chunk(100, transactionManager)
+                .reader(partitionedEventReader)
+                .processor(processor)
+                .writer(writer)
+                .listener(eventRangeCacheWriteListener)
+                .listener(eventChangeWriteListener)
+                .listener(importMetricsListener)
+                .faultTolerant()
+                .processorNonTransactional()
+                .skipLimit(skipLimit)
+                .skip(FlatFileParseException.class)
+                .skip(IllegalArgumentException.class)
+                .skip(DataIntegrityViolationException.class)
+                .listener(importErrorFileListener)
+                .build();
+    }
+
+    @Bean
+    public Step importEventPartitionStep(JobRepository jobRepository,
+                                         LineRangePartitioner importEventPartitioner,
+                                         Step importEventWorkerStep,
+                                         TaskExecutor importPartitionTaskExecutor) {
+        return new StepBuilder("importEventPartitionStep", jobRepository)
+                .partitioner("importEventWorkerStep", importEventPartitioner)
+                .step(importEventWorkerStep)
+                .taskExecutor(importPartitionTaskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Job importEventPartitionedJob(JobRepository jobRepository,
+                                         Step importEventPartitionStep,
+                                         JobExecutionListener stagedFileCleanupListener,
+                                         JobExecutionListener importCompletedNotificationListener,
+                                         ImportConflictDetector importConflictDetector) {
+        return new JobBuilder("importEventPartitionedJob", jobRepository)
+                .start(importEventPartitionStep)
+                .listener(stagedFileCleanupListener)
+                .listener(importCompletedNotificationListener)
+                .listener(importConflictDetector)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.calendar.config.spring_batch;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import com.calendar.domain.Event;
+
+/**
+ * Writes each chunk with a single PostgreSQL {@code COPY ... FROM STDIN}
+ * through the driver's CopyManager, on the connection bound to the chunk
+ * transaction. COPY takes no expressions, so updated_at is the database's
+ * LOCALTIMESTAMP read once per chunk, as the other writers stamp it.
+ */
+public class PgCopyEventItemWriter implements ItemWriter<Event> {
+
+    static final String COPY_SQL = "COPY event (created_by, title, description, start_time, end_time, event_type, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final DataSource dataSource;
+
+    public PgCopyEventItemWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void write(Chunk<? extends Event> chunk) throws Exception {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            LocalDateTime updatedAt;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT LOCALTIMESTAMP")) {
+                resultSet.next();
+                updatedAt = resultSet.getObject(1, LocalDateTime.class);
+            }
+            StringBuilder csv = new StringBuilder(chunk.size() * 128);
+            for (Event event : chunk) {
+                appendRow(csv, event, updatedAt);
+            }
+
+            connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    static void appendRow(StringBuilder csv, Event event, LocalDateTime updatedAt) {
+        appendField(csv, event.getCreatedBy()).append(',');
+        appendField(csv, event.getTitle()).append(',');
+        appendField(csv, event.getDescription()).append(',');
+        appendField(csv, event.getStartTime() == null ? null : TIMESTAMP.format(event.getStartTime())).append(',');
+        appendField(csv, event.getEndTime() == null ? null : TIMESTAMP.format(event.getEndTime())).append(',');
+        appendField(csv, event.getEvent_type()).append(',');
+        appendField(csv, TIMESTAMP.format(updatedAt)).append('\n');
+    }
+
+    /**
+     * Null is written as an unquoted empty field, which COPY reads as NULL;
+     * every other value is quoted so empty strings survive.
+     */
+    private static StringBuilder appendField(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
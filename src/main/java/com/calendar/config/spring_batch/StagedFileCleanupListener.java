@@ -0,0 +1,43 @@
+package com.calendar.config.spring_batch;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+
+import com.calendar.service.ImportStagingService;
+
+/**
+ * Deletes the staged file of an import once its job instance has completed.
+ * Failed runs keep their file so they can be restarted.
+ * <p>
+ * A deduplicating import identifies the instance by checksum, so the upload
+ * that restarts a failed run brings a staged file of its own and the failed
+ * run's copy is superseded. On completion the files of every earlier
+ * execution of the instance are released as well.
+ */
+public class StagedFileCleanupListener implements JobExecutionListener {
+
+    private final ImportStagingService importStagingService;
+    private final JobExplorer jobExplorer;
+
+    public StagedFileCleanupListener(ImportStagingService importStagingService, JobExplorer jobExplorer) {
+        this.importStagingService = importStagingService;
+        this.jobExplorer = jobExplorer;
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            return;
+        }
+        String filePath = jobExecution.getJobParameters().getString("filePath");
+        importStagingService.release(filePath);
+        for (JobExecution earlier : jobExplorer.getJobExecutions(jobExecution.getJobInstance())) {
+            String earlierFile = earlier.getJobParameters().getString("filePath");
+            if (earlierFile != null && !earlierFile.equals(filePath)) {
+                importStagingService.release(earlierFile);
+            }
+        }
+    }
+}
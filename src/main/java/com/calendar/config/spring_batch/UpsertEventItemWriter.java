@@ -0,0 +1,134 @@
+package com.calendar.config.spring_batch;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.calendar.domain.Event;
+import com.calendar.service.ImportStatus;
+
+/**
+ * Writer of the deduplicating import: rows whose content hash is already
+ * stored, or appears earlier in the chunk, are left out.
+ * <p>
+ * On PostgreSQL each chunk is one multi-row {@code INSERT ... ON CONFLICT
+ * DO NOTHING} against idx_event_content_hash, which stays correct with
+ * partition threads racing on the same rows. Elsewhere, e.g. on the H2 used
+ * in tests, the stored hashes of the chunk are looked up first and the rest
+ * inserted as a batch; a concurrent insert of the same row then fails the
+ * chunk on the unique index instead of duplicating it.
+ * <p>
+ * Rows left out are added to the step's
+ * {@link ImportStatus#DUPLICATE_COUNT_KEY} once the chunk commits.
+ */
+public class UpsertEventItemWriter implements ItemWriter<Event> {
+
+    static final String COLUMNS = "created_by, title, description, start_time, end_time, event_type, content_hash, updated_at";
+
+    static final String ON_CONFLICT = " ON CONFLICT (content_hash, start_time) DO NOTHING";
+
+    static final String INSERT_SQL = "INSERT INTO event (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)";
+
+    private static final int[] TYPES = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP,
+            Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgreSql;
+
+    public UpsertEventItemWriter(DataSource dataSource, boolean postgreSql) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.postgreSql = postgreSql;
+    }
+
+    @Override
+    public void write(Chunk<? extends Event> chunk) {
+        List<? extends Event> events = chunk.getItems();
+        if (events.isEmpty()) {
+            return;
+        }
+        int inserted = postgreSql ? insertOnConflict(events) : insertMissing(events);
+        countDuplicates(events.size() - inserted);
+    }
+
+    private int insertOnConflict(List<? extends Event> events) {
+        Object[] args = new Object[events.size() * TYPES.length];
+        int[] types = new int[args.length];
+        for (int i = 0; i < events.size(); i++) {
+            System.arraycopy(values(events.get(i)), 0, args, i * TYPES.length, TYPES.length);
+            System.arraycopy(TYPES, 0, types, i * TYPES.length, TYPES.length);
+        }
+        return jdbcTemplate.update(insertOnConflictSql(events.size()), args, types);
+    }
+
+    static String insertOnConflictSql(int rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(TYPES.length, "?")) + ", LOCALTIMESTAMP)";
+        return "INSERT INTO event (" + COLUMNS + ") VALUES " + String.join(", ", Collections.nCopies(rows, row))
+                + ON_CONFLICT;
+    }
+
+    private int insertMissing(List<? extends Event> events) {
+        List<String> hashes = events.stream().map(Event::getContentHash).distinct().toList();
+        Set<String> seen = new HashSet<>(jdbcTemplate.queryForList("SELECT content_hash FROM event WHERE content_hash IN ("
+                + String.join(", ", Collections.nCopies(hashes.size(), "?")) + ")", String.class, hashes.toArray()));
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (seen.add(event.getContentHash())) {
+                rows.add(values(event));
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, TYPES);
+        }
+        return rows.size();
+    }
+
+    private static Object[] values(Event event) {
+        return new Object[] { event.getCreatedBy(), event.getTitle(), event.getDescription(),
+                toTimestamp(event.getStartTime()), toTimestamp(event.getEndTime()), event.getEvent_type(),
+                event.getContentHash() };
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    /**
+     * Counted after commit, so a chunk that rolls back and is written again
+     * does not count its duplicates twice.
+     */
+    private static void countDuplicates(int duplicates) {
+        StepContext context = StepSynchronizationManager.getContext();
+        if (duplicates == 0 || context == null) {
+            return;
+        }
+        ExecutionContext stepContext = context.getStepExecution().getExecutionContext();
+        Runnable count = () -> stepContext.putLong(ImportStatus.DUPLICATE_COUNT_KEY,
+                stepContext.getLong(ImportStatus.DUPLICATE_COUNT_KEY, 0) + duplicates);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    count.run();
+                }
+            });
+        } else {
+            count.run();
+        }
+    }
+}
@@ -1,23 +1,51 @@
 package com.calendar.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.calendar.domain.Event;
+import com.calendar.domain.EventSummary;
+import com.calendar.domain.EventVersion;
+import com.calendar.service.EventBulkRequest;
+import com.calendar.service.EventBulkService;
+import com.calendar.service.EventChangeService;
+import com.calendar.service.EventChanges;
+import com.calendar.service.EventConflictException;
+import com.calendar.service.EventPage;
+import com.calendar.service.EventPatch;
 import com.calendar.service.EventService;
+import com.calendar.service.EventStreamService;
+import com.calendar.service.FreeBusy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -27,41 +55,216 @@ import org.springframework.web.bind.annotation.PathVariable;
 @RequestMapping("/events")
 public class EventController {
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final EventService eventService;
+    private final EventBulkService eventBulkService;
+    private final EventChangeService eventChangeService;
+    private final EventStreamService eventStreamService;
+    private final ObjectWriter eventWriter;
+    private final ObjectWriter summaryWriter;
+    private final ObjectWriter errorWriter;
 
-    EventController(EventService eventService) {
+    EventController(EventService eventService, EventBulkService eventBulkService,
+                    EventChangeService eventChangeService, EventStreamService eventStreamService,
+                    ObjectMapper objectMapper) {
         this.eventService = eventService;
+        this.eventBulkService = eventBulkService;
+        this.eventChangeService = eventChangeService;
+        this.eventStreamService = eventStreamService;
+        this.eventWriter = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.summaryWriter = objectMapper.writerFor(EventSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.errorWriter = objectMapper.writerFor(Map.class);
     }
 
+    /**
+     * Writes every event straight from a database cursor, either as a JSON array
+     * or, when the client accepts {@code application/x-ndjson}, one event per line.
+     * Answers {@code 304} from the table version alone when the client's copy is current.
+     * With {@code fields=summary} only the {@link EventSummary} columns are read and written.
+     */
     @GetMapping
-    public ResponseEntity<List<Event>> getAllEvents() {
-        List<Event> events = eventService.findAll();
-        return ResponseEntity.ok(events);
+    public void getAllEvents(@RequestParam(required = false) String fields,
+                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                             WebRequest request,
+                             HttpServletResponse response) throws IOException {
+        boolean summary;
+        try {
+            summary = isSummary(fields);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            errorWriter.writeValue(response.getOutputStream(), error);
+            return;
+        }
+
+        boolean ndjson = accept != null && accept.contains(APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        EventVersion version = eventService.getVersion();
+        if (request.checkNotModified(version.etag() + (summary ? "-s" : "") + (ndjson ? "-nd" : ""),
+                version.lastModifiedMillis())) {
+            return;
+        }
+
+        response.setContentType(ndjson ? APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        ObjectWriter writer = summary ? summaryWriter : eventWriter;
+        if (ndjson) {
+            writer = writer.withRootValueSeparator("\n");
+        }
+        try (SequenceWriter sequence = ndjson
+                ? writer.writeValues(response.getOutputStream())
+                : writer.writeValuesAsArray(response.getOutputStream())) {
+            Consumer<Object> write = item -> {
+                try {
+                    sequence.write(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            if (summary) {
+                eventService.streamAllSummaries(write::accept);
+            } else {
+                eventService.streamAll(write::accept);
+            }
+        }
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<?> getEventPage(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        try {
+            EventPage page = eventService.findPage(cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Inserts, updates and tombstones since the given token, so a client that
+     * already holds events can sync in O(changes).
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(required = false) String createdBy,
+                                        @RequestParam(defaultValue = "500") int limit) {
+        try {
+            EventChanges changes = eventChangeService.findChanges(since, createdBy, limit);
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Server-Sent Events of creates, updates, deletes and completed imports,
+     * optionally limited to one user and to events overlapping [from, to).
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String createdBy,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return eventStreamService.subscribe(createdBy, from, to);
     }
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody Event event) {
         if (event.getCreatedBy() != null) {
-            Event newEvent = eventService.save(event);
-            return ResponseEntity.ok(newEvent);
+            try {
+                Event newEvent = eventService.save(event);
+                return ResponseEntity.ok(newEvent);
+            } catch (EventConflictException e) {
+                return conflict(e);
+            }
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Does not login.");
 
     }
 
+    /**
+     * Creates, updates and deletes in one request, written as JDBC batches with
+     * one transaction per chunk. Answers 200 with a result per item; only a
+     * malformed request as a whole is a 400.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@RequestBody EventBulkRequest request) {
+        try {
+            return ResponseEntity.ok(eventBulkService.apply(request));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Event> getEvent(@PathVariable Long id) {
+    public ResponseEntity<Event> getEvent(@PathVariable Long id, WebRequest request) {
+        EventVersion version = eventService.getVersion(id);
+        if (version.count() > 0 && request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
         Event event = eventService.findById(id);
         
         return ResponseEntity.ok(event);
     }
     
 
+    /**
+     * Changes the non-null fields of the body; last writer wins.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Event> updateEvent(@PathVariable Long id, @RequestBody Event updateEvent) {
-        Event event = eventService.updateEvent(id, updateEvent);
-        
-        return ResponseEntity.ok(event);
+    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Event updateEvent) {
+        try {
+            Event event = eventService.updateEvent(id, updateEvent);
+            return ResponseEntity.ok(event);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (EventConflictException e) {
+            return conflict(e);
+        }
+    }
+
+    /**
+     * Changes the non-null fields of the body only if the event is still at the
+     * version the client read, checked in a conditional UPDATE. Answers 409 when
+     * someone else updated it first.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchEvent(@PathVariable Long id, @RequestBody EventPatch patch) {
+        try {
+            if (patch.version() == null) {
+                throw new IllegalArgumentException("version is required");
+            }
+            Event event = eventService.updateEvent(id, patch);
+            return ResponseEntity.ok(event);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (EventConflictException e) {
+            return conflict(e);
+        }
     }
 
     @DeleteMapping
@@ -81,10 +284,29 @@ public class EventController {
     @GetMapping("/search")
     public ResponseEntity<?> searchByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
         
         try {
-            List<Event> events = eventService.searchEventsByDateRange(startDate, endDate);
+            boolean summary = isSummary(fields);
+            EventVersion version = createdBy == null
+                    ? eventService.getVersion(startDate, endDate)
+                    : eventService.getVersion(createdBy, startDate, endDate);
+            if (request.checkNotModified(version.etag() + (summary ? "-s" : ""), version.lastModifiedMillis())) {
+                return null;
+            }
+
+            if (summary) {
+                List<EventSummary> summaries = createdBy == null
+                        ? eventService.searchSummariesByDateRange(startDate, endDate)
+                        : eventService.searchSummariesByDateRange(createdBy, startDate, endDate);
+                return ResponseEntity.ok(summaries);
+            }
+            List<Event> events = createdBy == null
+                    ? eventService.searchEventsByDateRange(startDate, endDate)
+                    : eventService.searchEventsByDateRange(createdBy, startDate, endDate);
             return ResponseEntity.ok(events);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
@@ -98,4 +320,47 @@ public class EventController {
                 }});
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Merged busy intervals and free gaps of the given users, so a scheduling
+     * UI does not have to fetch and merge every member's events itself.
+     */
+    @GetMapping("/freebusy")
+    public ResponseEntity<?> getFreeBusy(
+            @RequestParam List<String> users,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            FreeBusy freeBusy = eventService.findFreeBusy(users, from, to);
+            return ResponseEntity.ok(freeBusy);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 409 listing the ids of the events the write would overlap.
+     */
+    private static ResponseEntity<Map<String, Object>> conflict(EventConflictException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", e.getMessage());
+        response.put("conflicts", e.getConflictingIds());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Field selector of the read endpoints: {@code all} (the default) for whole
+     * events, {@code summary} for {@link EventSummary}.
+     */
+    private static boolean isSummary(String fields) {
+        if (fields == null || fields.equals("all")) {
+            return false;
+        }
+        if (fields.equals("summary")) {
+            return true;
+        }
+        throw new IllegalArgumentException("fields must be all or summary");
+    }
+}
@@ -1,49 +1,172 @@
 package com.calendar.controller;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.file.Path;
+import java.util.Optional;
 
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.calendar.config.spring_batch.CalendarImportGateway;
+import com.calendar.config.spring_batch.ImportQueueFullException;
+import com.calendar.service.ImportStagingService;
+import com.calendar.service.ImportStatus;
+import com.calendar.service.ImportStatusService;
+
+import io.micrometer.core.annotation.Timed;
 
 @Controller
 @RequestMapping("/import")
 public class FileImportController {
 
     private final CalendarImportGateway calendarImportGateway;
+    private final ImportStatusService importStatusService;
+    private final ImportStagingService importStagingService;
 
     @Autowired
-    FileImportController(CalendarImportGateway calendarImportGateway) {
+    FileImportController(CalendarImportGateway calendarImportGateway,
+                         ImportStatusService importStatusService,
+                         ImportStagingService importStagingService) {
         this.calendarImportGateway = calendarImportGateway;
+        this.importStatusService = importStatusService;
+        this.importStagingService = importStagingService;
     }
 
-    @PostMapping("/events")
-    public ResponseEntity<String> importEvents(@RequestParam("file") MultipartFile file) {
+    /**
+     * Queues the import and returns 202 with the job execution id; progress is
+     * polled from {@link #getImportStatus(Long)}. A deduplicating import of a
+     * file that was already imported returns 200 with the earlier execution.
+     */
+    @PostMapping(value = "/events", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Timed(value = "calendar.import.upload", histogram = true)
+    public ResponseEntity<?> importEvents(@RequestParam("file") MultipartFile file) {
         try {
-            Path tempPath = Files.createTempFile("calendar-", ".csv");
-            File tempFile = tempPath.toFile();
-
-            file.transferTo(tempFile);
+            return launch(importStagingService.stage(file));
+        } catch (IOException | RuntimeException e) {
+            return failed(e);
+        }
+    }
 
-            calendarImportGateway.importEvents(tempFile.getAbsolutePath());
+    /**
+     * Same as the multipart upload, but the CSV is the raw request body and is
+     * streamed to the staging directory without buffering it in memory.
+     */
+    @PostMapping(value = "/events", consumes = "text/csv")
+    @Timed(value = "calendar.import.upload", histogram = true)
+    public ResponseEntity<?> importEventStream(InputStream body) {
+        try {
+            return launch(importStagingService.stage(body));
+        } catch (IOException | RuntimeException e) {
+            return failed(e);
+        }
+    }
 
-            return ResponseEntity.ok("File imported successfully");
+    @GetMapping("/events/{jobId}")
+    public ResponseEntity<ImportStatus> getImportStatus(@PathVariable Long jobId) {
+        return importStatusService.findStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-        } catch (IOException e) {
+    /**
+     * Restarts a failed or stopped import on the file it was staged with. The
+     * new execution resumes after the last chunk each step committed; rows
+     * already written are not imported again.
+     */
+    @PostMapping("/events/{jobId}/restart")
+    public ResponseEntity<?> restartImport(@PathVariable Long jobId) {
+        Optional<ImportStatus> status = importStatusService.findStatus(jobId);
+        if (status.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        BatchStatus batchStatus = BatchStatus.valueOf(status.get().status());
+        if (batchStatus != BatchStatus.FAILED && batchStatus != BatchStatus.STOPPED) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body("Import " + jobId + " is " + batchStatus + ", only FAILED or STOPPED imports can be restarted");
+        }
+        JobExecution execution;
+        try {
+            execution = calendarImportGateway.restartImport(jobId);
+        } catch (ImportQueueFullException e) {
+            return queueFull();
+        } catch (RuntimeException e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to import file: " + e.getMessage());
+                    .body("Failed to restart import: " + e.getMessage());
         }
 
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/import/events/" + execution.getId()))
+                .body(ImportStatus.of(execution));
+    }
+
+    /**
+     * The lines the import skipped, as an {@code error,input} CSV; 404 when
+     * the import is unknown or skipped nothing.
+     */
+    @GetMapping(value = "/events/{jobId}/errors", produces = "text/csv")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable Long jobId) {
+        return importStatusService.findErrorFile(jobId)
+                .map(file -> ResponseEntity.ok().<Resource>body(new FileSystemResource(file)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<?> launch(Path stagedFile) {
+        JobExecution execution;
+        try {
+            execution = calendarImportGateway.importEvents(stagedFile.toString());
+        } catch (ImportQueueFullException e) {
+            importStagingService.release(stagedFile.toString());
+            return queueFull();
+        } catch (RuntimeException e) {
+            importStagingService.release(stagedFile.toString());
+            throw e;
+        }
+        if (!stagedFile.toString().equals(execution.getJobParameters().getString("filePath"))) {
+            // deduplicating import: the same file is already imported or being imported
+            importStagingService.release(stagedFile.toString());
+            return ResponseEntity
+                    .ok()
+                    .location(URI.create("/import/events/" + execution.getId()))
+                    .body(ImportStatus.of(execution));
+        }
+
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/import/events/" + execution.getId()))
+                .body(ImportStatus.of(execution));
+    }
+
+    /**
+     * The launcher rejected the job; a job that started and failed quickly is
+     * not this case and keeps its staged file for a restart.
+     */
+    private static ResponseEntity<String> queueFull() {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("Import queue is full, try again later");
+    }
+
+    private static ResponseEntity<String> failed(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Failed to import file: " + e.getMessage());
     }
 }
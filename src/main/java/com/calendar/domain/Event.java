@@ -1,15 +1,31 @@
 package com.calendar.domain;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "event")
+@Table(name = "event", indexes = {
+    @Index(name = "idx_event_start_time_id", columnList = "start_time, id"),
+    @Index(name = "idx_event_created_by_start_end", columnList = "created_by, start_time, end_time"),
+    @Index(name = "idx_event_updated_at", columnList = "updated_at"),
+    @Index(name = "idx_event_content_hash", columnList = "content_hash, start_time", unique = true)
+})
 public class Event {
 
     @Id
@@ -23,6 +39,46 @@ public class Event {
     private LocalDateTime endTime;
     private String event_type;
 
+    /**
+     * Optimistic lock, bumped by every update. Rows inserted over JDBC get the
+     * column default. Primitive so that save() still decides new vs existing by id.
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
+    /**
+     * Last write through EventService or the import; drives the HTTP
+     * validators. Taken from the database clock, since the instances' clocks
+     * may disagree and an older stamp would leave a cached ETag unchanged.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @CurrentTimestamp(source = SourceType.DB)
+    private LocalDateTime updatedAt;
+
+    /**
+     * RRULE of a recurring series, e.g. {@code FREQ=WEEKLY;COUNT=10}; null for
+     * a single event. startTime/endTime then describe the first occurrence.
+     */
+    private String recurrenceRule;
+
+    /** Start times of occurrences removed from the series (EXDATE). */
+    @Convert(converter = LocalDateTimeListConverter.class)
+    @Column(length = 4000)
+    private List<LocalDateTime> recurrenceExceptions;
+
+    /** End of the last occurrence, or null for unbounded series; derived from the rule on save. */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime recurrenceEnd;
+
+    /**
+     * SHA-256 of the natural key of a row imported in deduplicating mode; null
+     * for everything else, which the unique index does not compare.
+     */
+    @JsonIgnore
+    @Column(length = 64)
+    private String contentHash;
+
     public Long getId() {
         return id;
     }
@@ -67,4 +123,40 @@ public class Event {
     public void setEvent_type(String event_type) {
         this.event_type = event_type;
     }
-}
\ No newline at end of file
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    public List<LocalDateTime> getRecurrenceExceptions() {
+        return recurrenceExceptions;
+    }
+    public void setRecurrenceExceptions(List<LocalDateTime> recurrenceExceptions) {
+        this.recurrenceExceptions = recurrenceExceptions;
+    }
+    public long getVersion() {
+        return version;
+    }
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    public LocalDateTime getRecurrenceEnd() {
+        return recurrenceEnd;
+    }
+    public void setRecurrenceEnd(LocalDateTime recurrenceEnd) {
+        this.recurrenceEnd = recurrenceEnd;
+    }
+    public String getContentHash() {
+        return contentHash;
+    }
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+}
@@ -0,0 +1,75 @@
+package com.calendar.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Append-only record of one write to an event. Rows are written in the same
+ * transaction as the write itself and their id is the sync position.
+ * recordedAt is filled in by the database, so rows inserted with plain JDBC
+ * get it too.
+ */
+@Entity
+@Table(name = "event_change", indexes = {
+    @Index(name = "idx_event_change_created_by_id", columnList = "created_by, id"),
+    @Index(name = "idx_event_change_recorded_at", columnList = "recorded_at")
+})
+public class EventChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long eventId;
+    private String createdBy;
+
+    @Enumerated(EnumType.STRING)
+    private Type changeType;
+
+    private LocalDateTime changedAt;
+
+    @Column(insertable = false, updatable = false, columnDefinition = "timestamp default localtimestamp")
+    private LocalDateTime recordedAt;
+
+    protected EventChange() {
+    }
+
+    public EventChange(Long eventId, String createdBy, Type changeType, LocalDateTime changedAt) {
+        this.eventId = eventId;
+        this.createdBy = createdBy;
+        this.changeType = changeType;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public Long getEventId() {
+        return eventId;
+    }
+    public String getCreatedBy() {
+        return createdBy;
+    }
+    public Type getChangeType() {
+        return changeType;
+    }
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.calendar.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields a calendar grid shows. Read through a constructor expression,
+ * so no entity is built, tracked or dirty-checked, and serialized without
+ * description or any of the recurrence fields.
+ */
+public record EventSummary(Long id, String title, LocalDateTime startTime, LocalDateTime endTime,
+                           String event_type) {
+
+    public static EventSummary of(Event event) {
+        return new EventSummary(event.getId(), event.getTitle(), event.getStartTime(), event.getEndTime(),
+                event.getEvent_type());
+    }
+}
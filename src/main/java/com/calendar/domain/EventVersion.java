@@ -0,0 +1,39 @@
+package com.calendar.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Version of a set of events, derived from their number and latest
+ * updatedAt: an insert or update raises lastModified and a delete lowers the
+ * count, so the pair changes whenever the set does without reading any row.
+ */
+public record EventVersion(long count, LocalDateTime lastModified) {
+
+    /**
+     * Version of the union of two disjoint sets.
+     */
+    public EventVersion plus(EventVersion other) {
+        LocalDateTime latest = lastModified == null || other.lastModified != null && other.lastModified.isAfter(lastModified)
+                ? other.lastModified
+                : lastModified;
+        return new EventVersion(count + other.count, latest);
+    }
+
+    /**
+     * Opaque strong entity tag, without the surrounding quotes.
+     */
+    public String etag() {
+        long micros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return Long.toString(count, 36) + "-" + Long.toString(micros, 36);
+    }
+
+    /**
+     * Epoch milliseconds of lastModified, or -1 when unknown.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,37 @@
+package com.calendar.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a list of timestamps as one comma-separated ISO-8601 column, so a
+ * series and its exceptions are read in the same row.
+ */
+@Converter
+public class LocalDateTimeListConverter implements AttributeConverter<List<LocalDateTime>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<LocalDateTime> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.stream().map(LocalDateTime::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public List<LocalDateTime> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return null;
+        }
+        List<LocalDateTime> values = new ArrayList<>();
+        for (String value : column.split(",")) {
+            values.add(LocalDateTime.parse(value.trim()));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,28 @@
+package com.calendar.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.calendar.domain.EventChange;
+
+public interface EventChangeRepository extends JpaRepository<EventChange, Long> {
+
+    List<EventChange> findByIdBetweenOrderByIdAsc(Long from, Long to, Limit limit);
+
+    List<EventChange> findByCreatedByAndIdBetweenOrderByIdAsc(String createdBy, Long from, Long to, Limit limit);
+
+    /**
+     * Lowest id above {@code after + 1} that was recorded at or after
+     * {@code recordedSince} while the id just below it is not visible. That
+     * id was taken by a transaction that is still open or rolled back.
+     */
+    @Query("SELECT MIN(c.id) FROM EventChange c " +
+           "WHERE c.id > :after + 1 AND c.recordedAt >= :recordedSince " +
+           "AND NOT EXISTS (SELECT p.id FROM EventChange p WHERE p.id = c.id - 1)")
+    Long findFirstRecentGap(@Param("after") long after, @Param("recordedSince") LocalDateTime recordedSince);
+}
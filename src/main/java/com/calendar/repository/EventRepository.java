@@ -1,27 +1,278 @@
 package com.calendar.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.calendar.domain.Event;
+import com.calendar.domain.EventSummary;
+import com.calendar.domain.EventVersion;
+
+import jakarta.persistence.QueryHint;
 
 public interface EventRepository extends JpaRepository<Event, Long>{
 
+    /**
+     * Single (non-recurring) events of one user overlapping the half-open
+     * window [start, end), served by idx_event_created_by_start_end. No event
+     * overlapping the window starts before earliestStart; the bound lets a
+     * partitioned table skip older partitions.
+     */
     @Query("SELECT e FROM Event e " +
            "WHERE e.createdBy = :createdBy " +
-           "AND e.startTime BETWEEN :start AND :end")
+           "AND e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
+           "AND e.startTime < :end " +
+           "AND e.endTime > :start " +
+           "ORDER BY e.startTime ASC")
     List<Event> findEventsInRange(@Param("createdBy") String createdBy,
                                   @Param("start") LocalDateTime start,
-                                  @Param("end") LocalDateTime end);
+                                  @Param("end") LocalDateTime end,
+                                  @Param("earliestStart") LocalDateTime earliestStart);
 
+    /**
+     * Single (non-recurring) events overlapping the half-open window
+     * [startDate, endDate), including those that started before the window and
+     * are still running, but not before earliestStart.
+     */
     @Query("SELECT e FROM Event e " +
-           "WHERE e.startTime >= :startDate " +
+           "WHERE e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
            "AND e.startTime < :endDate " +
+           "AND e.endTime > :startDate " +
            "ORDER BY e.startTime ASC")
     List<Event> findEventsByDateRange(@Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate,
+                                      @Param("earliestStart") LocalDateTime earliestStart);
+
+    /**
+     * findEventsInRange as {@link EventSummary} rows, read without entering
+     * the persistence context.
+     */
+    @Query("SELECT new com.calendar.domain.EventSummary(e.id, e.title, e.startTime, e.endTime, e.event_type) " +
+           "FROM Event e " +
+           "WHERE e.createdBy = :createdBy " +
+           "AND e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
+           "AND e.startTime < :end " +
+           "AND e.endTime > :start " +
+           "ORDER BY e.startTime ASC")
+    List<EventSummary> findSummariesInRange(@Param("createdBy") String createdBy,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end,
+                                            @Param("earliestStart") LocalDateTime earliestStart);
+
+    /**
+     * findEventsByDateRange as {@link EventSummary} rows.
+     */
+    @Query("SELECT new com.calendar.domain.EventSummary(e.id, e.title, e.startTime, e.endTime, e.event_type) " +
+           "FROM Event e " +
+           "WHERE e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
+           "AND e.startTime < :endDate " +
+           "AND e.endTime > :startDate " +
+           "ORDER BY e.startTime ASC")
+    List<EventSummary> findSummariesByDateRange(@Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate,
+                                                @Param("earliestStart") LocalDateTime earliestStart);
+
+    /**
+     * Ids of the user's single events overlapping [start, end) other than
+     * excludeId, answered from idx_event_created_by_start_end without
+     * loading the events. Touching end points do not overlap.
+     */
+    @Query("SELECT e.id FROM Event e " +
+           "WHERE e.createdBy = :createdBy " +
+           "AND e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
+           "AND e.startTime < :end " +
+           "AND e.endTime > :start " +
+           "AND (:excludeId IS NULL OR e.id <> :excludeId) " +
+           "ORDER BY e.startTime ASC")
+    List<Long> findOverlappingIds(@Param("createdBy") String createdBy,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("earliestStart") LocalDateTime earliestStart,
+                                  @Param("excludeId") Long excludeId,
+                                  Limit limit);
+
+    /**
+     * Recurring series of one user that may have an occurrence in the
+     * half-open window [start, end); occurrences are expanded by the caller.
+     */
+    @Query("SELECT e FROM Event e " +
+           "WHERE e.createdBy = :createdBy " +
+           "AND e.recurrenceRule IS NOT NULL " +
+           "AND e.startTime < :end " +
+           "AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd > :start)")
+    List<Event> findSeriesInRange(@Param("createdBy") String createdBy,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    /**
+     * Recurring series that may have an occurrence in the half-open window
+     * [startDate, endDate).
+     */
+    @Query("SELECT e FROM Event e " +
+           "WHERE e.recurrenceRule IS NOT NULL " +
+           "AND e.startTime < :endDate " +
+           "AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd > :startDate)")
+    List<Event> findSeriesByDateRange(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * (startTime, endTime) pairs of the single events of the given users
+     * overlapping [start, end), without materializing entities. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.startTime, e.endTime FROM Event e " +
+           "WHERE e.createdBy IN :users " +
+           "AND e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
+           "AND e.startTime < :end " +
+           "AND e.endTime > :start")
+    Stream<Object[]> streamBusyTimes(@Param("users") Collection<String> users,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end,
+                                     @Param("earliestStart") LocalDateTime earliestStart);
+
+    /**
+     * Recurring series of the given users that may have an occurrence in the
+     * half-open window [start, end).
+     */
+    @Query("SELECT e FROM Event e " +
+           "WHERE e.createdBy IN :users " +
+           "AND e.recurrenceRule IS NOT NULL " +
+           "AND e.startTime < :end " +
+           "AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd > :start)")
+    List<Event> findSeriesOfUsersInRange(@Param("users") Collection<String> users,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.calendar.domain.EventVersion(COUNT(e), MAX(e.updatedAt)) FROM Event e")
+    EventVersion findVersion();
+
+    @Query("SELECT new com.calendar.domain.EventVersion(COUNT(e), MAX(e.updatedAt)) FROM Event e WHERE e.id = :id")
+    EventVersion findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of what findEventsByDateRange returns for the same window. Series
+     * are versioned separately so this query keeps the earliestStart bound.
+     */
+    @Query("SELECT new com.calendar.domain.EventVersion(COUNT(e), MAX(e.updatedAt)) FROM Event e " +
+           "WHERE e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
+           "AND e.startTime < :endDate " +
+           "AND e.endTime > :startDate")
+    EventVersion findVersionByDateRange(@Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate,
+                                        @Param("earliestStart") LocalDateTime earliestStart);
+
+    /**
+     * Version of what findSeriesByDateRange returns for the same window.
+     */
+    @Query("SELECT new com.calendar.domain.EventVersion(COUNT(e), MAX(e.updatedAt)) FROM Event e " +
+           "WHERE e.recurrenceRule IS NOT NULL " +
+           "AND e.startTime < :endDate " +
+           "AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd > :startDate)")
+    EventVersion findSeriesVersionByDateRange(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Version of what findEventsInRange returns for the same user and window.
+     */
+    @Query("SELECT new com.calendar.domain.EventVersion(COUNT(e), MAX(e.updatedAt)) FROM Event e " +
+           "WHERE e.createdBy = :createdBy " +
+           "AND e.recurrenceRule IS NULL " +
+           "AND e.startTime >= :earliestStart " +
+           "AND e.startTime < :end " +
+           "AND e.endTime > :start")
+    EventVersion findVersionInRange(@Param("createdBy") String createdBy,
+                                    @Param("start") LocalDateTime start,
+                                    @Param("end") LocalDateTime end,
+                                    @Param("earliestStart") LocalDateTime earliestStart);
+
+    /**
+     * Version of what findSeriesInRange returns for the same user and window.
+     */
+    @Query("SELECT new com.calendar.domain.EventVersion(COUNT(e), MAX(e.updatedAt)) FROM Event e " +
+           "WHERE e.createdBy = :createdBy " +
+           "AND e.recurrenceRule IS NOT NULL " +
+           "AND e.startTime < :end " +
+           "AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd > :start)")
+    EventVersion findSeriesVersionInRange(@Param("createdBy") String createdBy,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
+
+    /**
+     * Partial update in one conditional statement: null arguments keep the
+     * stored value, and the row only changes while it still has the expected
+     * version (any version when null) and ends up with startTime before
+     * endTime. New times on a recurring series are refused here because its
+     * recurrenceEnd has to be recomputed. Returns 0 when nothing was updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET " +
+           "e.title = COALESCE(:title, e.title), " +
+           "e.description = COALESCE(:description, e.description), " +
+           "e.startTime = COALESCE(:startTime, e.startTime), " +
+           "e.endTime = COALESCE(:endTime, e.endTime), " +
+           "e.event_type = COALESCE(:eventType, e.event_type), " +
+           "e.updatedAt = LOCAL DATETIME, " +
+           "e.version = e.version + 1 " +
+           "WHERE e.id = :id " +
+           "AND (:version IS NULL OR e.version = :version) " +
+           "AND COALESCE(:startTime, e.startTime) <= COALESCE(:endTime, e.endTime) " +
+           "AND (:startTime IS NULL AND :endTime IS NULL OR e.recurrenceRule IS NULL)")
+    int patch(@Param("id") Long id,
+              @Param("version") Long version,
+              @Param("title") String title,
+              @Param("description") String description,
+              @Param("startTime") LocalDateTime startTime,
+              @Param("endTime") LocalDateTime endTime,
+              @Param("eventType") String eventType);
+
+    List<Event> findByCreatedByAndRecurrenceRuleIsNullOrderByStartTimeAsc(String createdBy, Limit limit);
+
+    @Query("SELECT e FROM Event e ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findFirstPage(Limit limit);
+
+    @Query("SELECT e FROM Event e " +
+           "WHERE e.startTime > :startTime " +
+           "OR (e.startTime = :startTime AND e.id > :id) " +
+           "ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findPageAfter(@Param("startTime") LocalDateTime startTime,
+                              @Param("id") Long id,
+                              Limit limit);
+
+    /**
+     * Cursor over the whole table; must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e ORDER BY e.startTime ASC, e.id ASC")
+    Stream<Event> streamAll();
+
+    /**
+     * streamAll as {@link EventSummary} rows; same transaction and close rules.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.calendar.domain.EventSummary(e.id, e.title, e.startTime, e.endTime, e.event_type) " +
+           "FROM Event e ORDER BY e.startTime ASC, e.id ASC")
+    Stream<EventSummary> streamAllSummaries();
 }
@@ -0,0 +1,22 @@
+package com.calendar.service;
+
+import java.util.List;
+
+import com.calendar.domain.Event;
+
+/**
+ * Body of {@code POST /events/bulk}. Updates carry the id of the event they
+ * replace; any list may be omitted.
+ */
+public record EventBulkRequest(List<Event> create, List<Event> update, List<Long> delete) {
+
+	public EventBulkRequest {
+		create = create == null ? List.of() : create;
+		update = update == null ? List.of() : update;
+		delete = delete == null ? List.of() : delete;
+	}
+
+	int size() {
+		return create.size() + update.size() + delete.size();
+	}
+}
@@ -0,0 +1,31 @@
+package com.calendar.service;
+
+import java.util.List;
+
+/**
+ * Outcome of each item of a bulk request, in request order: creates, then
+ * updates, then deletes, each with its index inside its own list.
+ */
+public record EventBulkResult(List<Item> results, int succeeded, int failed) {
+
+	public enum Operation {
+		CREATE, UPDATE, DELETE
+	}
+
+	/**
+	 * OK items are committed. INVALID, NOT_FOUND and CONFLICT items were
+	 * skipped on their own; FAILED items were valid but their chunk was rolled
+	 * back.
+	 */
+	public enum Status {
+		OK, INVALID, NOT_FOUND, CONFLICT, FAILED
+	}
+
+	public record Item(Operation operation, int index, Long id, Status status, String error) {
+	}
+
+	static EventBulkResult of(List<Item> results) {
+		int succeeded = (int) results.stream().filter(item -> item.status() == Status.OK).count();
+		return new EventBulkResult(results, succeeded, results.size() - succeeded);
+	}
+}
@@ -0,0 +1,477 @@
+package com.calendar.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.domain.LocalDateTimeListConverter;
+import com.calendar.service.EventBulkResult.Operation;
+import com.calendar.service.EventBulkResult.Status;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Creates, updates and deletes many events per request with JDBC batches.
+ * <p>
+ * Items are checked with the same rules as {@link EventService#save} and then
+ * written in chunks of {@code calendar.bulk.chunk-size}, one transaction per
+ * chunk. A chunk costs one lookup of the events it updates or deletes, one
+ * batch per statement type and one batch of event_change rows. Updates are
+ * merged into the stored event like {@link EventService#updateEvent(Long, EventPatch)},
+ * so null fields keep their value, and checked once merged. With
+ * calendar.conflicts.enabled, creates and moved updates that overlap another
+ * event of their user are reported as conflicts. Invalid and conflicting
+ * items are reported on their own; a database error rolls back and fails only the
+ * chunk it happened in.
+ */
+@Service
+@Timed(value = "calendar.service", histogram = true)
+public class EventBulkService {
+
+	static final int MAX_ITEMS = 10_000;
+
+	static final String INSERT_SQL = "INSERT INTO event (created_by, title, description, start_time, end_time, "
+			+ "event_type, recurrence_rule, recurrence_exceptions, recurrence_end, updated_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	static final String UPDATE_SQL = "UPDATE event SET title = ?, description = ?, start_time = ?, end_time = ?, "
+			+ "event_type = ?, recurrence_rule = ?, recurrence_exceptions = ?, recurrence_end = ?, updated_at = ?, version = version + 1 "
+			+ "WHERE id = ?";
+
+	static final String DELETE_SQL = "DELETE FROM event WHERE id = ?";
+
+	static final String INSERT_CHANGE_SQL = "INSERT INTO event_change (event_id, created_by, change_type, changed_at) "
+			+ "VALUES (?, ?, ?, ?)";
+
+	private static final LocalDateTimeListConverter EXCEPTIONS = new LocalDateTimeListConverter();
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final EventRangeCache rangeCache;
+	private final EventStreamService streamService;
+	private final EventPartitionService partitionService;
+	private final EventConflictService conflictService;
+	private final int chunkSize;
+
+	public EventBulkService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			EventRangeCache rangeCache, EventStreamService streamService, EventPartitionService partitionService,
+			EventConflictService conflictService, @Value("${calendar.bulk.chunk-size:500}") int chunkSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.rangeCache = rangeCache;
+		this.streamService = streamService;
+		this.partitionService = partitionService;
+		this.conflictService = conflictService;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @param request Events to create, events to update by id and ids to delete
+	 * @return One result per item, in request order
+	 */
+	public EventBulkResult apply(EventBulkRequest request) {
+		if (request == null || request.size() == 0) {
+			throw new IllegalArgumentException("At least one create, update or delete is required");
+		}
+
+		if (request.size() > MAX_ITEMS) {
+			throw new IllegalArgumentException("At most " + MAX_ITEMS + " items are allowed per request");
+		}
+
+		List<Pending> items = new ArrayList<>(request.size());
+		for (int i = 0; i < request.create().size(); i++) {
+			items.add(new Pending(Operation.CREATE, i, request.create().get(i), null));
+		}
+		for (int i = 0; i < request.update().size(); i++) {
+			Event event = request.update().get(i);
+			items.add(new Pending(Operation.UPDATE, i, event, event == null ? null : event.getId()));
+		}
+		for (int i = 0; i < request.delete().size(); i++) {
+			items.add(new Pending(Operation.DELETE, i, null, request.delete().get(i)));
+		}
+
+		for (int from = 0; from < items.size(); from += chunkSize) {
+			writeChunk(items.subList(from, Math.min(from + chunkSize, items.size())));
+		}
+		return EventBulkResult.of(items.stream().map(Pending::result).toList());
+	}
+
+	private void writeChunk(List<Pending> chunk) {
+		chunk.forEach(this::validate);
+		List<Pending> valid = chunk.stream().filter(item -> item.status == null).toList();
+		if (valid.isEmpty()) {
+			return;
+		}
+
+		try {
+			transactionTemplate.executeWithoutResult(transaction -> write(valid));
+		} catch (DataAccessException | TransactionException e) {
+			String error = "Chunk rolled back: " + mostSpecificMessage(e);
+			valid.stream()
+					.filter(item -> item.status == null || item.status == Status.OK)
+					.forEach(item -> item.fail(Status.FAILED, error));
+		}
+	}
+
+	private void validate(Pending item) {
+		try {
+			if (item.operation != Operation.CREATE && item.id == null) {
+				throw new IllegalArgumentException("id is required");
+			}
+
+			if (item.operation == Operation.DELETE) {
+				return;
+			}
+
+			if (item.event == null) {
+				throw new IllegalArgumentException("event is required");
+			}
+
+			if (item.operation == Operation.UPDATE) {
+				// checked in write() once merged into the stored event
+				return;
+			}
+
+			if (item.event.getCreatedBy() == null) {
+				throw new IllegalArgumentException("createdBy is required");
+			}
+
+			check(item);
+		} catch (IllegalArgumentException e) {
+			item.fail(Status.INVALID, e.getMessage());
+		}
+	}
+
+	private void check(Pending item) {
+		EventService.validate(item.event);
+		partitionService.checkDuration(item.event);
+	}
+
+	private void write(List<Pending> items) {
+		// the database clock, like the updatedAt Hibernate writes, so instances with skewed clocks agree
+		LocalDateTime now = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+		List<Pending> creates = new ArrayList<>();
+		List<Pending> updates = new ArrayList<>();
+		List<Pending> deletes = new ArrayList<>();
+		Set<Long> ids = new LinkedHashSet<>();
+		for (Pending item : items) {
+			switch (item.operation) {
+				case CREATE -> creates.add(item);
+				case UPDATE -> updates.add(item);
+				case DELETE -> deletes.add(item);
+			}
+			if (item.id != null) {
+				ids.add(item.id);
+			}
+		}
+
+		Map<Long, Event> existing = findExisting(ids);
+		List<Pending> merged = merged(found(updates, existing));
+		List<Pending> found = List.copyOf(found(deletes, existing).keySet());
+		if (conflictService.isEnabled()) {
+			Set<Long> deleted = found.stream().map(item -> item.id).collect(Collectors.toSet());
+			List<Pending> accepted = withoutConflicts(Stream.concat(creates.stream(), merged.stream()).toList(),
+					existing, deleted);
+			creates = creates.stream().filter(accepted::contains).toList();
+			merged = merged.stream().filter(accepted::contains).toList();
+		}
+		insert(creates, now);
+		update(merged, now);
+		delete(found);
+
+		List<Pending> written = items.stream().filter(item -> item.status == Status.OK).toList();
+		if (written.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, written.stream()
+				.map(item -> new Object[] { item.id, item.event.getCreatedBy(), item.changeType().name(),
+						Timestamp.valueOf(now) })
+				.toList());
+		for (Pending item : written) {
+			Event stored = existing.get(item.id);
+			streamService.publish(item.operation == Operation.UPDATE
+					? EventNotification.updated(item.event, stored.getStartTime(), EventNotification.spanEnd(stored))
+					: EventNotification.of(item.event, EventNotification.Type.valueOf(item.changeType().name())));
+			rangeCache.invalidate(item.event.getCreatedBy());
+		}
+	}
+
+	/**
+	 * The events a chunk updates or deletes: updates are merged into them, and
+	 * the change log, notifications and cache invalidation need their owner.
+	 */
+	private Map<Long, Event> findExisting(Set<Long> ids) {
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		Map<Long, Event> existing = new HashMap<>();
+		jdbcTemplate.query("SELECT id, created_by, title, description, start_time, end_time, event_type, "
+				+ "recurrence_rule, recurrence_exceptions, recurrence_end FROM event "
+				+ "WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")",
+				rs -> {
+					Event event = new Event();
+					event.setId(rs.getLong("id"));
+					event.setCreatedBy(rs.getString("created_by"));
+					event.setTitle(rs.getString("title"));
+					event.setDescription(rs.getString("description"));
+					event.setStartTime(toDateTime(rs.getTimestamp("start_time")));
+					event.setEndTime(toDateTime(rs.getTimestamp("end_time")));
+					event.setEvent_type(rs.getString("event_type"));
+					event.setRecurrenceRule(rs.getString("recurrence_rule"));
+					event.setRecurrenceExceptions(EXCEPTIONS.convertToEntityAttribute(rs.getString("recurrence_exceptions")));
+					event.setRecurrenceEnd(toDateTime(rs.getTimestamp("recurrence_end")));
+					existing.put(event.getId(), event);
+				}, ids.toArray());
+		return existing;
+	}
+
+	/**
+	 * Items whose event exists, paired with it; the rest are marked NOT_FOUND.
+	 * Deletes take the stored event as their own.
+	 */
+	private static Map<Pending, Event> found(List<Pending> items, Map<Long, Event> existing) {
+		Map<Pending, Event> found = new LinkedHashMap<>();
+		for (Pending item : items) {
+			Event stored = existing.get(item.id);
+			if (stored == null) {
+				item.fail(Status.NOT_FOUND, "Event not found");
+				continue;
+			}
+			if (item.operation == Operation.DELETE) {
+				item.event = stored;
+			}
+			found.put(item, stored);
+		}
+		return found;
+	}
+
+	/**
+	 * Applies the non-null fields of each update to a copy of its stored
+	 * event, which keeps its id and owner; merged events that break the rules
+	 * are marked INVALID.
+	 */
+	private List<Pending> merged(Map<Pending, Event> updates) {
+		List<Pending> merged = new ArrayList<>(updates.size());
+		updates.forEach((item, stored) -> {
+			Event event = new Event();
+			event.setId(stored.getId());
+			event.setCreatedBy(stored.getCreatedBy());
+			EventPatch.of(stored).applyTo(event);
+			EventPatch.of(item.event).applyTo(event);
+			item.event = event;
+			try {
+				check(item);
+				merged.add(item);
+			} catch (IllegalArgumentException e) {
+				item.fail(Status.INVALID, e.getMessage());
+			}
+		});
+		return merged;
+	}
+
+	/**
+	 * Marks CONFLICT the items that overlap a stored single event of the same
+	 * user, as {@link EventConflictService#check} does for one event, or an
+	 * item of the chunk accepted before them; the others are returned. Events
+	 * the chunk deletes do not count, and events it has already moved count
+	 * where they end up. Updates that keep their times are not checked, as for
+	 * a single update.
+	 */
+	private List<Pending> withoutConflicts(List<Pending> items, Map<Long, Event> existing, Set<Long> deleted) {
+		List<Pending> accepted = new ArrayList<>(items.size());
+		Set<Long> moved = new HashSet<>();
+		for (Pending item : items) {
+			Event event = item.event;
+			Event stored = item.operation == Operation.CREATE ? null : existing.get(item.id);
+			boolean moves = stored == null || !event.getStartTime().equals(stored.getStartTime())
+					|| !event.getEndTime().equals(stored.getEndTime());
+			List<String> conflicts = new ArrayList<>();
+			if (moves) {
+				conflictService.findConflicts(event).stream()
+						.filter(id -> !deleted.contains(id) && !moved.contains(id))
+						.forEach(id -> conflicts.add("event " + id));
+				accepted.stream()
+						.filter(other -> overlaps(other.event, event))
+						.forEach(other -> conflicts.add(other.operation == Operation.CREATE
+								? "CREATE " + other.index
+								: "event " + other.id));
+			}
+			if (conflicts.isEmpty()) {
+				accepted.add(item);
+				if (moves && stored != null) {
+					moved.add(item.id);
+				}
+			} else {
+				item.fail(Status.CONFLICT, "Overlaps " + String.join(", ", conflicts));
+			}
+		}
+		return accepted;
+	}
+
+	private static boolean overlaps(Event a, Event b) {
+		return a.getRecurrenceRule() == null && b.getRecurrenceRule() == null
+				&& a.getCreatedBy().equals(b.getCreatedBy())
+				&& (a.getId() == null || !a.getId().equals(b.getId()))
+				&& a.getStartTime().isBefore(b.getEndTime()) && a.getEndTime().isAfter(b.getStartTime());
+	}
+
+	private void insert(List<Pending> creates, LocalDateTime now) {
+		if (creates.isEmpty()) {
+			return;
+		}
+		KeyHolder keys = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						Event event = creates.get(i).event;
+						event.setUpdatedAt(now);
+						ps.setString(1, event.getCreatedBy());
+						ps.setString(2, event.getTitle());
+						ps.setString(3, event.getDescription());
+						ps.setTimestamp(4, toTimestamp(event.getStartTime()));
+						ps.setTimestamp(5, toTimestamp(event.getEndTime()));
+						ps.setString(6, event.getEvent_type());
+						ps.setString(7, event.getRecurrenceRule());
+						ps.setString(8, EXCEPTIONS.convertToDatabaseColumn(event.getRecurrenceExceptions()));
+						ps.setTimestamp(9, toTimestamp(event.getRecurrenceEnd()));
+						ps.setTimestamp(10, toTimestamp(now));
+					}
+
+					@Override
+					public int getBatchSize() {
+						return creates.size();
+					}
+				}, keys);
+
+		List<Map<String, Object>> generated = keys.getKeyList();
+		for (int i = 0; i < creates.size(); i++) {
+			Pending item = creates.get(i);
+			item.succeed(((Number) generated.get(i).values().iterator().next()).longValue());
+			item.event.setId(item.id);
+		}
+	}
+
+	private void update(List<Pending> updates, LocalDateTime now) {
+		if (updates.isEmpty()) {
+			return;
+		}
+		int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates.stream()
+				.map(item -> {
+					Event event = item.event;
+					event.setUpdatedAt(now);
+					return new Object[] { event.getTitle(), event.getDescription(),
+							toTimestamp(event.getStartTime()), toTimestamp(event.getEndTime()), event.getEvent_type(),
+							event.getRecurrenceRule(), EXCEPTIONS.convertToDatabaseColumn(event.getRecurrenceExceptions()),
+							toTimestamp(event.getRecurrenceEnd()), toTimestamp(now), item.id };
+				})
+				.toList());
+		applyCounts(updates, counts);
+	}
+
+	private void delete(List<Pending> deletes) {
+		if (deletes.isEmpty()) {
+			return;
+		}
+		int[] counts = jdbcTemplate.batchUpdate(DELETE_SQL,
+				deletes.stream().map(item -> new Object[] { item.id }).toList());
+		applyCounts(deletes, counts);
+	}
+
+	/**
+	 * A count of 0 means the row went away after the lookup; drivers that
+	 * answer SUCCESS_NO_INFO are taken at their word.
+	 */
+	private static void applyCounts(List<Pending> items, int[] counts) {
+		for (int i = 0; i < items.size(); i++) {
+			Pending item = items.get(i);
+			if (counts[i] == 0) {
+				item.fail(Status.NOT_FOUND, "Event not found");
+			} else {
+				item.succeed(item.id);
+			}
+		}
+	}
+
+	private static String mostSpecificMessage(NestedRuntimeException e) {
+		String message = e.getMostSpecificCause().getMessage();
+		return message == null ? e.getClass().getSimpleName() : message;
+	}
+
+	private static Timestamp toTimestamp(LocalDateTime time) {
+		return time == null ? null : Timestamp.valueOf(time);
+	}
+
+	private static LocalDateTime toDateTime(Timestamp timestamp) {
+		return timestamp == null ? null : timestamp.toLocalDateTime();
+	}
+
+	/** One item of the request and, once handled, its outcome. */
+	private static final class Pending {
+
+		private final Operation operation;
+		private final int index;
+		private Event event;
+		private Long id;
+		private Status status;
+		private String error;
+
+		Pending(Operation operation, int index, Event event, Long id) {
+			this.operation = operation;
+			this.index = index;
+			this.event = event;
+			this.id = id;
+		}
+
+		void succeed(Long id) {
+			this.id = id;
+			this.status = Status.OK;
+		}
+
+		void fail(Status status, String error) {
+			if (operation == Operation.CREATE) {
+				this.id = null;
+			}
+			this.status = status;
+			this.error = error;
+		}
+
+		EventChange.Type changeType() {
+			return switch (operation) {
+				case CREATE -> EventChange.Type.CREATED;
+				case UPDATE -> EventChange.Type.UPDATED;
+				case DELETE -> EventChange.Type.DELETED;
+			};
+		}
+
+		EventBulkResult.Item result() {
+			return new EventBulkResult.Item(operation, index, id, status, error);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.calendar.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.repository.EventChangeRepository;
+import com.calendar.repository.EventRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Append-only change log of events and the feed read from it. Writers call
+ * {@link #record} inside their own transaction so a change is visible exactly
+ * when the write is.
+ * <p>
+ * Ids are taken at insert but become visible at commit, so a later id can be
+ * visible before an earlier one. The feed therefore stops below the first id
+ * it cannot see yet if a later, recently recorded id is already visible. An
+ * id still missing after calendar.changes.gap-timeout-seconds is taken to be
+ * rolled back and is skipped. A transaction that commits later than that can
+ * still be missed.
+ */
+@Service
+@Timed(value = "calendar.service", histogram = true)
+public class EventChangeService {
+
+	static final int MAX_CHANGES = 1000;
+
+	private final EventChangeRepository changeRepository;
+	private final EventRepository eventRepository;
+	private final Duration gapTimeout;
+
+	public EventChangeService(EventChangeRepository changeRepository, EventRepository eventRepository,
+			@Value("${calendar.changes.gap-timeout-seconds:60}") long gapTimeoutSeconds) {
+		this.changeRepository = changeRepository;
+		this.eventRepository = eventRepository;
+		this.gapTimeout = Duration.ofSeconds(gapTimeoutSeconds);
+	}
+
+	public void record(Event event, EventChange.Type type) {
+		LocalDateTime changedAt = event.getUpdatedAt() != null && type != EventChange.Type.DELETED
+				? event.getUpdatedAt()
+				: LocalDateTime.now();
+		changeRepository.save(new EventChange(event.getId(), event.getCreatedBy(), type, changedAt));
+	}
+
+	/**
+	 * Changes after the given token, coalesced per event: the latest change of
+	 * each event is returned with the event as it is now, and events that no
+	 * longer exist come back as DELETED tombstones.
+	 * 
+	 * @param since     Token of the previous response, or null to start from the beginning
+	 * @param createdBy Only changes of this user's events, or null for all
+	 * @param limit     Maximum change rows read, between 1 and {@value #MAX_CHANGES}
+	 * @return Changes and the token to continue from
+	 */
+	@Transactional(readOnly = true)
+	public EventChanges findChanges(String since, String createdBy, int limit) {
+		if (limit < 1 || limit > MAX_CHANGES) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_CHANGES);
+		}
+
+		long after = since == null || since.isBlank() ? 0 : EventChanges.decodeToken(since);
+		long upTo = visibleUpTo(after);
+		List<EventChange> rows = upTo <= after ? List.of()
+				: createdBy == null
+						? changeRepository.findByIdBetweenOrderByIdAsc(after + 1, upTo, Limit.of(limit))
+						: changeRepository.findByCreatedByAndIdBetweenOrderByIdAsc(createdBy, after + 1, upTo,
+								Limit.of(limit));
+		if (rows.isEmpty()) {
+			return new EventChanges(List.of(), EventChanges.encodeToken(after), false);
+		}
+
+		Map<Long, EventChange> latest = new LinkedHashMap<>();
+		for (EventChange row : rows) {
+			latest.remove(row.getEventId());
+			latest.put(row.getEventId(), row);
+		}
+		Map<Long, Event> current = eventRepository.findAllById(latest.keySet()).stream()
+				.collect(Collectors.toMap(Event::getId, Function.identity()));
+
+		List<EventChanges.Entry> changes = new ArrayList<>(latest.size());
+		for (EventChange change : latest.values()) {
+			Event event = current.get(change.getEventId());
+			EventChange.Type type = event == null ? EventChange.Type.DELETED : change.getChangeType();
+			changes.add(new EventChanges.Entry(type, change.getEventId(), event));
+		}
+		long last = rows.get(rows.size() - 1).getId();
+		return new EventChanges(changes, EventChanges.encodeToken(last), rows.size() == limit);
+	}
+
+	/**
+	 * Highest id the feed may hand out: just below the first recent gap, so
+	 * the token never passes a change that can still commit.
+	 */
+	private long visibleUpTo(long after) {
+		Long gap = changeRepository.findFirstRecentGap(after, LocalDateTime.now().minus(gapTimeout));
+		return gap == null ? Long.MAX_VALUE : gap - 2;
+	}
+}
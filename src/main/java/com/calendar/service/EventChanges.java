@@ -0,0 +1,37 @@
+package com.calendar.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+
+/**
+ * One page of the change feed. Each event appears at most once, with its
+ * current state, or as a tombstone when it no longer exists. {@code nextToken}
+ * is passed back as {@code since} to continue; {@code hasMore} tells whether
+ * the next request would return more changes right away.
+ */
+public record EventChanges(List<Entry> changes, String nextToken, boolean hasMore) {
+
+	public record Entry(EventChange.Type type, Long eventId, Event event) {
+	}
+
+	static String encodeToken(long changeId) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(("c" + changeId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	static long decodeToken(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			if (!raw.startsWith("c")) {
+				throw new IllegalArgumentException("Invalid token");
+			}
+			return Long.parseLong(raw.substring(1));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid token", e);
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.calendar.service;
+
+import java.util.List;
+
+/**
+ * Thrown when conflict detection is on and an event overlaps other single
+ * events of the same user.
+ */
+public class EventConflictException extends RuntimeException {
+
+	private final List<Long> conflictingIds;
+
+	public EventConflictException(List<Long> conflictingIds) {
+		super("Event overlaps " + conflictingIds.size() + " other event" + (conflictingIds.size() == 1 ? "" : "s")
+				+ " of the same user");
+		this.conflictingIds = List.copyOf(conflictingIds);
+	}
+
+	public List<Long> getConflictingIds() {
+		return conflictingIds;
+	}
+}
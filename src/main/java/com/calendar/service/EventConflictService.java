@@ -0,0 +1,62 @@
+package com.calendar.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.calendar.domain.Event;
+import com.calendar.repository.EventRepository;
+
+/**
+ * Opt-in check, switched on with calendar.conflicts.enabled, that rejects a
+ * create or update whose event overlaps another single event of the same
+ * user. One range probe on idx_event_created_by_start_end per write, bounded
+ * by the partitioning lower bound like the searches. Recurring series are
+ * neither checked nor checked against.
+ */
+@Service
+public class EventConflictService {
+
+	/** Conflicting ids reported at most; the check only needs to know there is one. */
+	static final int MAX_REPORTED = 20;
+
+	private final EventRepository eventRepository;
+	private final EventPartitionService partitionService;
+	private final boolean enabled;
+
+	public EventConflictService(EventRepository eventRepository, EventPartitionService partitionService,
+			@Value("${calendar.conflicts.enabled:false}") boolean enabled) {
+		this.eventRepository = eventRepository;
+		this.partitionService = partitionService;
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @throws EventConflictException when the event overlaps another of its user's single events
+	 */
+	public void check(Event event) {
+		List<Long> conflicts = findConflicts(event);
+		if (!conflicts.isEmpty()) {
+			throw new EventConflictException(conflicts);
+		}
+	}
+
+	/**
+	 * Ids of the single events of the same user overlapping event, excluding
+	 * event itself; empty when detection is off or event is a series.
+	 */
+	public List<Long> findConflicts(Event event) {
+		if (!enabled || event.getRecurrenceRule() != null || event.getCreatedBy() == null
+				|| event.getStartTime() == null || event.getEndTime() == null) {
+			return List.of();
+		}
+		return eventRepository.findOverlappingIds(event.getCreatedBy(), event.getStartTime(), event.getEndTime(),
+				partitionService.earliestStart(event.getStartTime()), event.getId(), Limit.of(MAX_REPORTED));
+	}
+}
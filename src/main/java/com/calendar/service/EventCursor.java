@@ -0,0 +1,37 @@
+package com.calendar.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.calendar.domain.Event;
+
+/**
+ * Opaque keyset position for paging through events ordered by (startTime, id).
+ */
+public record EventCursor(LocalDateTime startTime, Long id) {
+
+	public static EventCursor of(Event event) {
+		return new EventCursor(event.getStartTime(), event.getId());
+	}
+
+	public String encode() {
+		String raw = startTime + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static EventCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf('|');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)),
+					Long.valueOf(raw.substring(separator + 1)));
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+}
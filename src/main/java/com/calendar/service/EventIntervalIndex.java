@@ -0,0 +1,85 @@
+package com.calendar.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.calendar.domain.Event;
+
+/**
+ * Immutable interval tree over one user's events.
+ * <p>
+ * Events are sorted by start time and kept in primitive arrays; the array is
+ * read as an implicit balanced tree (the middle of every sub-range is its
+ * root) and {@code maxEnd} holds the latest end time of each sub-range, so an
+ * overlap query prunes whole sub-ranges and runs in O(log n + k).
+ */
+public final class EventIntervalIndex {
+
+	private final Event[] events;
+	private final long[] starts;
+	private final long[] ends;
+	private final long[] maxEnd;
+
+	public EventIntervalIndex(List<Event> source) {
+		events = source.toArray(new Event[0]);
+		Arrays.sort(events, Comparator.comparing(Event::getStartTime).thenComparing(Event::getId,
+				Comparator.nullsLast(Comparator.naturalOrder())));
+		starts = new long[events.length];
+		ends = new long[events.length];
+		maxEnd = new long[events.length];
+		for (int i = 0; i < events.length; i++) {
+			starts[i] = toSeconds(events[i].getStartTime());
+			ends[i] = toSeconds(events[i].getEndTime());
+		}
+		buildMaxEnd(0, events.length);
+	}
+
+	public int size() {
+		return events.length;
+	}
+
+	/**
+	 * Events overlapping the half-open window [from, to), ordered by start time.
+	 */
+	public List<Event> findOverlapping(LocalDateTime from, LocalDateTime to) {
+		List<Event> result = new ArrayList<>();
+		collect(0, events.length, toSeconds(from), toSeconds(to), result);
+		return result;
+	}
+
+	private long buildMaxEnd(int lo, int hi) {
+		if (lo >= hi) {
+			return Long.MIN_VALUE;
+		}
+		int mid = (lo + hi) >>> 1;
+		long max = Math.max(ends[mid], Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+		maxEnd[mid] = max;
+		return max;
+	}
+
+	private void collect(int lo, int hi, long from, long to, List<Event> result) {
+		if (lo >= hi) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		if (maxEnd[mid] <= from) {
+			return;
+		}
+		collect(lo, mid, from, to, result);
+		if (starts[mid] >= to) {
+			return;
+		}
+		if (ends[mid] > from) {
+			result.add(events[mid]);
+		}
+		collect(mid + 1, hi, from, to, result);
+	}
+
+	private static long toSeconds(LocalDateTime time) {
+		return time.toEpochSecond(ZoneOffset.UTC);
+	}
+}
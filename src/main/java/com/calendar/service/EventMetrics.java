@@ -0,0 +1,47 @@
+package com.calendar.service;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Result-set sizes of the range searches, {@code calendar.search.results},
+ * tagged by scope (all users or one) and fields (all or summary). A window
+ * that suddenly returns ten times the events explains a latency regression
+ * before any query plan does.
+ */
+@Component
+public class EventMetrics {
+
+	static final String SEARCH_RESULTS = "calendar.search.results";
+
+	private final DistributionSummary allUsers;
+	private final DistributionSummary allUsersSummary;
+	private final DistributionSummary singleUser;
+	private final DistributionSummary singleUserSummary;
+
+	public EventMetrics(MeterRegistry meterRegistry) {
+		this.allUsers = searchResults(meterRegistry, "all", "all");
+		this.allUsersSummary = searchResults(meterRegistry, "all", "summary");
+		this.singleUser = searchResults(meterRegistry, "user", "all");
+		this.singleUserSummary = searchResults(meterRegistry, "user", "summary");
+	}
+
+	void recordSearch(boolean forUser, boolean summary, int results) {
+		if (forUser) {
+			(summary ? singleUserSummary : singleUser).record(results);
+		} else {
+			(summary ? allUsersSummary : allUsers).record(results);
+		}
+	}
+
+	private static DistributionSummary searchResults(MeterRegistry meterRegistry, String scope, String fields) {
+		return DistributionSummary.builder(SEARCH_RESULTS)
+				.baseUnit("events")
+				.tag("scope", scope)
+				.tag("fields", fields)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+}
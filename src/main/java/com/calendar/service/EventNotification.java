@@ -0,0 +1,71 @@
+package com.calendar.service;
+
+import java.time.LocalDateTime;
+
+import com.calendar.domain.Event;
+
+/**
+ * Change pushed to {@code GET /events/stream} subscribers. Event
+ * notifications carry the owner and time span used for filtering, and an
+ * UPDATED notification also the span the event had before, so subscribers of
+ * the window it moved out of hear about it too; an IMPORT_COMPLETED
+ * notification carries the job execution id instead.
+ */
+public record EventNotification(Type type, Long eventId, String createdBy, LocalDateTime startTime,
+		LocalDateTime endTime, LocalDateTime previousStartTime, LocalDateTime previousEndTime, Long jobExecutionId) {
+
+	public enum Type {
+		CREATED, UPDATED, DELETED, IMPORT_COMPLETED
+	}
+
+	public static EventNotification of(Event event, Type type) {
+		return new EventNotification(type, event.getId(), event.getCreatedBy(), event.getStartTime(), spanEnd(event),
+				null, null, null);
+	}
+
+	/**
+	 * UPDATED notification for an event whose span was [previousStart,
+	 * previousEnd), as returned by {@link #spanEnd(Event)}, before the change.
+	 */
+	public static EventNotification updated(Event event, LocalDateTime previousStart, LocalDateTime previousEnd) {
+		return new EventNotification(Type.UPDATED, event.getId(), event.getCreatedBy(), event.getStartTime(),
+				spanEnd(event), previousStart, previousEnd, null);
+	}
+
+	/**
+	 * End of the time span an event covers: a recurring series spans its
+	 * occurrences, up to forever when unbounded.
+	 */
+	static LocalDateTime spanEnd(Event event) {
+		return event.getRecurrenceRule() == null ? event.getEndTime()
+				: event.getRecurrenceEnd() == null ? LocalDateTime.MAX : event.getRecurrenceEnd();
+	}
+
+	public static EventNotification importCompleted(Long jobExecutionId) {
+		return new EventNotification(Type.IMPORT_COMPLETED, null, null, null, null, null, null, jobExecutionId);
+	}
+
+	/**
+	 * Whether a subscriber filtered by owner and half-open window [from, to)
+	 * receives this notification; null filters match everything, and import
+	 * notifications reach every subscriber. An update matches when the event
+	 * overlaps the window before or after the change.
+	 */
+	boolean matches(String owner, LocalDateTime from, LocalDateTime to) {
+		if (type == Type.IMPORT_COMPLETED) {
+			return true;
+		}
+		if (owner != null && !owner.equals(createdBy)) {
+			return false;
+		}
+		return overlaps(startTime, endTime, from, to)
+				|| previousStartTime != null && overlaps(previousStartTime, previousEndTime, from, to);
+	}
+
+	private static boolean overlaps(LocalDateTime start, LocalDateTime end, LocalDateTime from, LocalDateTime to) {
+		if (to != null && start != null && !start.isBefore(to)) {
+			return false;
+		}
+		return from == null || end == null || end.isAfter(from);
+	}
+}
@@ -0,0 +1,109 @@
+package com.calendar.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.calendar.domain.Event;
+
+/**
+ * Lazy expansion of a recurring series into the occurrences overlapping a
+ * window. The first candidate is computed directly from the rule and each
+ * further occurrence is produced on demand, so only occurrences inside the
+ * window are ever created, however long the series is.
+ */
+final class EventOccurrences {
+
+	private EventOccurrences() {
+	}
+
+	/**
+	 * Occurrences of series overlapping the half-open window [from, to),
+	 * ordered by start time. Each occurrence is a transient copy of the series
+	 * carrying its id, with startTime and endTime shifted to the occurrence.
+	 */
+	static Stream<Event> between(Event series, LocalDateTime from, LocalDateTime to) {
+		RecurrenceRule rule = RecurrenceRule.parse(series.getRecurrenceRule());
+		Iterator<Event> occurrences = new OccurrenceIterator(series, rule, from, to);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(occurrences,
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private static final class OccurrenceIterator implements Iterator<Event> {
+
+		private final Event series;
+		private final RecurrenceRule rule;
+		private final Duration duration;
+		private final Set<LocalDateTime> exceptions;
+		private final LocalDateTime to;
+		private long index;
+		private LocalDateTime next;
+
+		OccurrenceIterator(Event series, RecurrenceRule rule, LocalDateTime from, LocalDateTime to) {
+			this.series = series;
+			this.rule = rule;
+			this.duration = Duration.between(series.getStartTime(), series.getEndTime());
+			this.exceptions = toSet(series.getRecurrenceExceptions());
+			this.to = to;
+			// an occurrence overlaps the window when it ends after from
+			this.index = rule.firstIndexAfter(series.getStartTime(), from.minus(duration));
+			this.next = seek();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Event next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			Event occurrence = occurrence(series, next, next.plus(duration));
+			index++;
+			next = seek();
+			return occurrence;
+		}
+
+		private LocalDateTime seek() {
+			while (true) {
+				LocalDateTime start = rule.occurrence(series.getStartTime(), index);
+				if (!start.isBefore(to) || !rule.includes(index, start)) {
+					return null;
+				}
+				if (!exceptions.contains(start)) {
+					return start;
+				}
+				index++;
+			}
+		}
+
+		private static Set<LocalDateTime> toSet(Collection<LocalDateTime> exceptions) {
+			return exceptions == null || exceptions.isEmpty() ? Set.of() : new HashSet<>(exceptions);
+		}
+	}
+
+	private static Event occurrence(Event series, LocalDateTime start, LocalDateTime end) {
+		Event occurrence = new Event();
+		occurrence.setId(series.getId());
+		occurrence.setCreatedBy(series.getCreatedBy());
+		occurrence.setTitle(series.getTitle());
+		occurrence.setDescription(series.getDescription());
+		occurrence.setEvent_type(series.getEvent_type());
+		occurrence.setRecurrenceRule(series.getRecurrenceRule());
+		occurrence.setRecurrenceExceptions(series.getRecurrenceExceptions());
+		occurrence.setRecurrenceEnd(series.getRecurrenceEnd());
+		occurrence.setStartTime(start);
+		occurrence.setEndTime(end);
+		return occurrence;
+	}
+}
@@ -0,0 +1,11 @@
+package com.calendar.service;
+
+import java.util.List;
+
+import com.calendar.domain.Event;
+
+/**
+ * One keyset page of events. {@code nextCursor} is null on the last page.
+ */
+public record EventPage(List<Event> events, String nextCursor) {
+}
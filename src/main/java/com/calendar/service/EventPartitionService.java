@@ -0,0 +1,310 @@
+package com.calendar.service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.calendar.domain.Event;
+
+/**
+ * Optional monthly range partitioning of the event table on start_time,
+ * PostgreSQL only, switched on with calendar.partitioning.enabled.
+ * <p>
+ * An overlap query has no lower bound on start_time, because an event that
+ * started long before the window can still be running, so it could not prune
+ * anything. With partitioning on, an event may last at most
+ * calendar.partitioning.max-event-duration, enforced here and by a CHECK
+ * constraint. Range queries then add {@code startTime >= from - maxDuration}
+ * and only touch the partitions of the window plus that margin. Recurring
+ * series are few and are still read from every partition.
+ * <p>
+ * At startup an unpartitioned table is converted in one transaction. Monthly
+ * partitions are kept up to calendar.partitioning.months-ahead; rows outside
+ * all of them land in event_default until {@link #createPartitions} moves them
+ * into a partition of their own. Both that and {@link #archivePartitions} do
+ * nothing unless the table is partitioned.
+ */
+@Service
+public class EventPartitionService {
+
+	private static final Logger log = LoggerFactory.getLogger(EventPartitionService.class);
+
+	/** Lower bound on startTime when partitioning is off; older than any event. */
+	public static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+
+	static final String DEFAULT_PARTITION = "event_default";
+	static final String ARCHIVE_PREFIX = "event_archive_";
+
+	private static final String PARTITION_PREFIX = "event_p";
+	private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final Duration maxEventDuration;
+	private final int monthsAhead;
+	private final int retentionMonths;
+	private final String archiveTablespace;
+	private volatile boolean active;
+
+	public EventPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${calendar.partitioning.enabled:false}") boolean enabled,
+			@Value("${calendar.partitioning.max-event-duration:P31D}") Duration maxEventDuration,
+			@Value("${calendar.partitioning.months-ahead:12}") int monthsAhead,
+			@Value("${calendar.partitioning.retention-months:36}") int retentionMonths,
+			@Value("${calendar.partitioning.archive-tablespace:}") String archiveTablespace) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.maxEventDuration = maxEventDuration;
+		this.monthsAhead = monthsAhead;
+		this.retentionMonths = retentionMonths;
+		this.archiveTablespace = archiveTablespace;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Whether the event table is partitioned; false while enabled when the
+	 * database is not PostgreSQL or the conversion was refused.
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	void setActive(boolean active) {
+		this.active = active;
+	}
+
+	/**
+	 * Earliest startTime an event overlapping a window starting at from can
+	 * have, passed to the range queries so PostgreSQL can prune partitions.
+	 * Only bounded once the table is partitioned, since until then events
+	 * may be longer than max-event-duration.
+	 */
+	public LocalDateTime earliestStart(LocalDateTime from) {
+		return active ? from.minus(maxEventDuration) : EARLIEST;
+	}
+
+	public void checkDuration(Event event) {
+		if (active && event.getStartTime() != null && event.getEndTime() != null
+				&& Duration.between(event.getStartTime(), event.getEndTime()).compareTo(maxEventDuration) > 0) {
+			throw new IllegalArgumentException("Events may last at most " + maxEventDuration.toDays() + " days");
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void initialize() {
+		if (!enabled) {
+			return;
+		}
+		if (!isPostgreSql()) {
+			log.warn("calendar.partitioning.enabled requires PostgreSQL; the event table stays unpartitioned");
+			return;
+		}
+		if (!isPartitioned()) {
+			convert();
+		}
+		active = isPartitioned();
+		createPartitions();
+	}
+
+	public boolean isPartitioned() {
+		Integer count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('event')", Integer.class);
+		return count != null && count > 0;
+	}
+
+	/**
+	 * Creates the partitions from last month to months-ahead, plus one for
+	 * every month that has rows in the default partition; those rows are
+	 * moved over in the same transaction.
+	 *
+	 * @return Names of the partitions created
+	 */
+	public List<String> createPartitions() {
+		if (!active) {
+			return List.of();
+		}
+		TreeSet<YearMonth> months = new TreeSet<>(monthsToKeep(YearMonth.now()));
+		jdbcTemplate.queryForList("SELECT DISTINCT CAST(date_trunc('month', start_time) AS date) FROM "
+				+ DEFAULT_PARTITION + " WHERE start_time IS NOT NULL", Date.class)
+				.forEach(month -> months.add(YearMonth.from(month.toLocalDate())));
+
+		List<String> existing = partitionNames();
+		List<String> created = new ArrayList<>();
+		for (YearMonth month : months) {
+			String name = partitionName(month);
+			if (!existing.contains(name)) {
+				transactionTemplate.executeWithoutResult(status -> createPartition(month));
+				created.add(name);
+			}
+		}
+		if (!created.isEmpty()) {
+			log.info("Created event partitions {}", created);
+		}
+		return created;
+	}
+
+	/**
+	 * Detaches the partitions older than retention-months from event and
+	 * renames them event_archive_yyyyMM, optionally moving them to
+	 * archive-tablespace, which can live on cheaper or compressed storage. The
+	 * rows leave every query but stay in the database until dropped by hand.
+	 * Each one gets a DELETED event_change row in the same transaction, so sync
+	 * clients drop it too; no stream notification is sent per row.
+	 *
+	 * @return Names of the archive tables
+	 */
+	public List<String> archivePartitions() {
+		if (!active) {
+			return List.of();
+		}
+		YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+		List<String> archived = new ArrayList<>();
+		for (String name : partitionNames()) {
+			YearMonth month = monthOf(name);
+			if (month == null || !month.isBefore(oldestKept)) {
+				continue;
+			}
+			String archive = ARCHIVE_PREFIX + month.format(SUFFIX);
+			transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.update("INSERT INTO event_change (event_id, created_by, change_type, changed_at) "
+						+ "SELECT id, created_by, 'DELETED', localtimestamp FROM " + name);
+				jdbcTemplate.execute("ALTER TABLE event DETACH PARTITION " + name);
+				jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + archive);
+				if (!archiveTablespace.isBlank()) {
+					jdbcTemplate.execute("ALTER TABLE " + archive + " SET TABLESPACE " + archiveTablespace);
+				}
+			});
+			archived.add(archive);
+		}
+		if (!archived.isEmpty()) {
+			log.info("Archived event partitions {}", archived);
+		}
+		return archived;
+	}
+
+	/**
+	 * Replaces the plain table Hibernate created with a partitioned one and
+	 * copies the rows over. There is no primary key, because PostgreSQL would
+	 * require start_time in it; ids stay unique through their sequence and
+	 * are looked up through idx_event_id on every partition.
+	 */
+	void convert() {
+		Long tooLong = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event WHERE end_time - start_time > "
+				+ interval(maxEventDuration), Long.class);
+		if (tooLong != null && tooLong > 0) {
+			log.error("{} events last longer than calendar.partitioning.max-event-duration={}; "
+					+ "the event table stays unpartitioned", tooLong, maxEventDuration);
+			return;
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.execute("ALTER TABLE event RENAME TO event_unpartitioned");
+			jdbcTemplate.execute("CREATE TABLE event (LIKE event_unpartitioned INCLUDING DEFAULTS) "
+					+ "PARTITION BY RANGE (start_time)");
+			jdbcTemplate.execute("CREATE SEQUENCE event_partitioned_id_seq OWNED BY event.id");
+			jdbcTemplate.execute("ALTER TABLE event ALTER COLUMN id SET DEFAULT nextval('event_partitioned_id_seq')");
+			jdbcTemplate.execute("SELECT setval('event_partitioned_id_seq', "
+					+ "(SELECT COALESCE(MAX(id), 0) + 1 FROM event_unpartitioned), false)");
+			jdbcTemplate.execute("ALTER TABLE event ADD CONSTRAINT chk_event_duration "
+					+ "CHECK (end_time - start_time <= " + interval(maxEventDuration) + ")");
+			jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF event DEFAULT");
+
+			List<YearMonth> months = new ArrayList<>(monthsToKeep(YearMonth.now()));
+			jdbcTemplate.queryForList("SELECT DISTINCT CAST(date_trunc('month', start_time) AS date) "
+					+ "FROM event_unpartitioned WHERE start_time IS NOT NULL", Date.class)
+					.forEach(month -> months.add(YearMonth.from(month.toLocalDate())));
+			months.stream().distinct().sorted().forEach(month -> jdbcTemplate.execute("CREATE TABLE "
+					+ partitionName(month) + " PARTITION OF event FOR VALUES FROM " + bounds(month)));
+
+			jdbcTemplate.execute("INSERT INTO event SELECT * FROM event_unpartitioned");
+			jdbcTemplate.execute("DROP TABLE event_unpartitioned");
+			jdbcTemplate.execute("CREATE INDEX idx_event_id ON event (id)");
+			jdbcTemplate.execute("CREATE INDEX idx_event_start_time_id ON event (start_time, id)");
+			jdbcTemplate.execute("CREATE INDEX idx_event_created_by_start_end ON event (created_by, start_time, end_time)");
+			jdbcTemplate.execute("CREATE INDEX idx_event_updated_at ON event (updated_at)");
+			jdbcTemplate.execute("CREATE UNIQUE INDEX idx_event_content_hash ON event (content_hash, start_time)");
+			EventSeriesIndexes.create(jdbcTemplate);
+		});
+		log.info("Converted the event table to monthly partitions on start_time");
+	}
+
+	/**
+	 * Creates the partition as a plain table, moves its month's rows out of
+	 * the default partition and attaches it, since PostgreSQL refuses to add a
+	 * partition whose rows still sit in the default one.
+	 */
+	private void createPartition(YearMonth month) {
+		String name = partitionName(month);
+		String range = "start_time >= '" + month.atDay(1) + "' AND start_time < '" + month.plusMonths(1).atDay(1) + "'";
+		jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE event INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+		jdbcTemplate.execute("INSERT INTO " + name + " SELECT * FROM " + DEFAULT_PARTITION + " WHERE " + range);
+		jdbcTemplate.execute("DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range);
+		jdbcTemplate.execute("ALTER TABLE event ATTACH PARTITION " + name + " FOR VALUES FROM " + bounds(month));
+	}
+
+	private List<String> partitionNames() {
+		return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+				+ "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass('event')", String.class);
+	}
+
+	private boolean isPostgreSql() {
+		try {
+			String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+					DatabaseMetaData::getDatabaseProductName);
+			return "PostgreSQL".equalsIgnoreCase(product);
+		} catch (MetaDataAccessException e) {
+			return false;
+		}
+	}
+
+	/** Last month through months-ahead. */
+	List<YearMonth> monthsToKeep(YearMonth now) {
+		List<YearMonth> months = new ArrayList<>();
+		for (YearMonth month = now.minusMonths(1); !month.isAfter(now.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+			months.add(month);
+		}
+		return months;
+	}
+
+	static String partitionName(YearMonth month) {
+		return PARTITION_PREFIX + month.format(SUFFIX);
+	}
+
+	static YearMonth monthOf(String partitionName) {
+		if (!partitionName.startsWith(PARTITION_PREFIX)) {
+			return null;
+		}
+		return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), SUFFIX);
+	}
+
+	static String bounds(YearMonth month) {
+		return "('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+	}
+
+	static String interval(Duration duration) {
+		return "interval '" + duration.toSeconds() + " seconds'";
+	}
+}
@@ -0,0 +1,50 @@
+package com.calendar.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.calendar.domain.Event;
+
+/**
+ * Fields to change on an existing event; null fields keep their stored value.
+ * A blank recurrenceRule turns a series back into a single event.
+ * 
+ * @param version Version the client last read, or null to update whatever is stored
+ */
+public record EventPatch(Long version, String title, String description, LocalDateTime startTime,
+		LocalDateTime endTime, String event_type, String recurrenceRule, List<LocalDateTime> recurrenceExceptions) {
+
+	/** Every field of the event as a patch, without a version check. */
+	public static EventPatch of(Event event) {
+		return new EventPatch(null, event.getTitle(), event.getDescription(), event.getStartTime(),
+				event.getEndTime(), event.getEvent_type(), event.getRecurrenceRule(), event.getRecurrenceExceptions());
+	}
+
+	boolean touchesRecurrence() {
+		return recurrenceRule != null || recurrenceExceptions != null;
+	}
+
+	void applyTo(Event event) {
+		if (title != null) {
+			event.setTitle(title);
+		}
+		if (description != null) {
+			event.setDescription(description);
+		}
+		if (startTime != null) {
+			event.setStartTime(startTime);
+		}
+		if (endTime != null) {
+			event.setEndTime(endTime);
+		}
+		if (event_type != null) {
+			event.setEvent_type(event_type);
+		}
+		if (recurrenceRule != null) {
+			event.setRecurrenceRule(recurrenceRule);
+		}
+		if (recurrenceExceptions != null) {
+			event.setRecurrenceExceptions(recurrenceExceptions);
+		}
+	}
+}
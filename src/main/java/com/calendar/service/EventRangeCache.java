@@ -0,0 +1,153 @@
+package com.calendar.service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.calendar.domain.Event;
+
+/**
+ * Optional in-process cache of one {@link EventIntervalIndex} per user.
+ * <p>
+ * Users are evicted least-recently-used once {@code max-users} is reached, and
+ * users owning more than {@code max-events-per-user} events are never cached;
+ * such a user is remembered as oversized, so their searches skip the load
+ * until the next write of theirs invalidates the marker.
+ * Writers call {@link #invalidate(String)}; inside a transaction the entry is
+ * dropped again after commit so a concurrent reload cannot cache rows the
+ * transaction is about to replace. Cached events are shared and must not be
+ * modified by callers.
+ * <p>
+ * With read replicas configured, a miss is loaded in a new read-write
+ * transaction, which goes to the primary: a replica may not have replayed the
+ * write whose invalidation caused the miss yet, and the cache would keep its
+ * old rows until the next write of the user.
+ */
+@Component
+public class EventRangeCache {
+
+	/** Entry of a user with more than max-events-per-user events. */
+	private static final EventIntervalIndex OVERSIZED = new EventIntervalIndex(List.of());
+
+	private final boolean enabled;
+	private final int maxEventsPerUser;
+	private final TransactionOperations fill;
+	private final Map<String, EventIntervalIndex> indexes;
+	private long generation;
+
+	@Autowired
+	public EventRangeCache(@Value("${calendar.cache.range.enabled:false}") boolean enabled,
+			@Value("${calendar.cache.range.max-users:1000}") int maxUsers,
+			@Value("${calendar.cache.range.max-events-per-user:50000}") int maxEventsPerUser,
+			PlatformTransactionManager transactionManager,
+			@Value("#{!'${calendar.datasource.replica.urls:}'.isBlank()}") boolean replicas) {
+		this(enabled, maxUsers, maxEventsPerUser, replicas ? primary(transactionManager)
+				: TransactionOperations.withoutTransaction());
+	}
+
+	EventRangeCache(boolean enabled, int maxUsers, int maxEventsPerUser) {
+		this(enabled, maxUsers, maxEventsPerUser, TransactionOperations.withoutTransaction());
+	}
+
+	private EventRangeCache(boolean enabled, int maxUsers, int maxEventsPerUser, TransactionOperations fill) {
+		this.enabled = enabled;
+		this.maxEventsPerUser = maxEventsPerUser;
+		this.fill = fill;
+		this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, EventIntervalIndex> eldest) {
+				return size() > maxUsers;
+			}
+		};
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Events of createdBy overlapping [from, to), or empty when the cache is
+	 * disabled or the user has too many events to be cached.
+	 *
+	 * @param loader Loads all events of the user, capped at the given limit
+	 */
+	public Optional<List<Event>> findInRange(String createdBy, LocalDateTime from, LocalDateTime to,
+			Function<Limit, List<Event>> loader) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+
+		EventIntervalIndex index;
+		long loadGeneration;
+		synchronized (this) {
+			index = indexes.get(createdBy);
+			loadGeneration = generation;
+		}
+
+		if (index == OVERSIZED) {
+			return Optional.empty();
+		}
+		if (index == null) {
+			List<Event> events = fill.execute(transaction -> loader.apply(Limit.of(maxEventsPerUser + 1)));
+			index = events.size() > maxEventsPerUser ? OVERSIZED : new EventIntervalIndex(events);
+			synchronized (this) {
+				if (generation == loadGeneration) {
+					indexes.put(createdBy, index);
+				}
+			}
+			if (index == OVERSIZED) {
+				return Optional.empty();
+			}
+		}
+		return Optional.of(index.findOverlapping(from, to));
+	}
+
+	public void invalidate(String createdBy) {
+		if (!enabled || createdBy == null) {
+			return;
+		}
+		evict(createdBy);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evict(createdBy);
+				}
+			});
+		}
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		indexes.clear();
+	}
+
+	synchronized int cachedUsers() {
+		return (int) indexes.values().stream().filter(index -> index != OVERSIZED).count();
+	}
+
+	private static TransactionOperations primary(PlatformTransactionManager transactionManager) {
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+		readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return readWrite;
+	}
+
+	private synchronized void evict(String createdBy) {
+		generation++;
+		indexes.remove(createdBy);
+	}
+}
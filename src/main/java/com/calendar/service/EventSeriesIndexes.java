@@ -0,0 +1,66 @@
+package com.calendar.service;
+
+import java.sql.DatabaseMetaData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partial indexes over the recurring series, PostgreSQL only.
+ * <p>
+ * The series lookups next to every range search, its ETag and free/busy
+ * filter on {@code recurrence_rule IS NOT NULL AND start_time < :end}. A
+ * series can recur long after it started, so they cannot take the
+ * earliestStart bound and no index on all events serves them. Series are few,
+ * so an index holding only them is small and turns the lookup into a probe
+ * per user, or per partition for the all-users queries. Hibernate cannot
+ * declare partial indexes, so they are created here at startup and again when
+ * {@link EventPartitionService} rebuilds the table.
+ */
+@Component
+public class EventSeriesIndexes {
+
+	private static final Logger log = LoggerFactory.getLogger(EventSeriesIndexes.class);
+
+	static final String[] DDL = {
+			"CREATE INDEX IF NOT EXISTS idx_event_series_created_by_start ON event (created_by, start_time) "
+					+ "WHERE recurrence_rule IS NOT NULL",
+			"CREATE INDEX IF NOT EXISTS idx_event_series_start ON event (start_time) "
+					+ "WHERE recurrence_rule IS NOT NULL" };
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public EventSeriesIndexes(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void initialize() {
+		if (isPostgreSql()) {
+			create(jdbcTemplate);
+			log.debug("Series indexes are in place");
+		}
+	}
+
+	static void create(JdbcTemplate jdbcTemplate) {
+		for (String ddl : DDL) {
+			jdbcTemplate.execute(ddl);
+		}
+	}
+
+	private boolean isPostgreSql() {
+		try {
+			String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+					DatabaseMetaData::getDatabaseProductName);
+			return "PostgreSQL".equalsIgnoreCase(product);
+		} catch (MetaDataAccessException e) {
+			return false;
+		}
+	}
+}
@@ -1,70 +1,402 @@
 package com.calendar.service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.domain.EventSummary;
+import com.calendar.domain.EventVersion;
 import com.calendar.repository.EventRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
+@Timed(value = "calendar.service", histogram = true)
 public class EventService {
 
+	static final int MAX_PAGE_SIZE = 1000;
+
 	private EventRepository eventRepository;
+	private EventRangeCache rangeCache;
+	private EventChangeService changeService;
+	private EventStreamService streamService;
+	private EventPartitionService partitionService;
+	private EventMetrics metrics;
+	private EventConflictService conflictService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
 
-	public EventService(EventRepository eventRepository) {
+	public EventService(EventRepository eventRepository, EventRangeCache rangeCache,
+			EventChangeService changeService, EventStreamService streamService,
+			EventPartitionService partitionService, EventMetrics metrics, EventConflictService conflictService) {
 		this.eventRepository = eventRepository;
+		this.rangeCache = rangeCache;
+		this.changeService = changeService;
+		this.streamService = streamService;
+		this.partitionService = partitionService;
+		this.metrics = metrics;
+		this.conflictService = conflictService;
 	}
 
+	@Transactional(readOnly = true)
 	public List<Event> findAll() {
 		return eventRepository.findAll();
 	}
 
-	public Event save(Event event) {
-		if (event.getStartTime() == null || event.getEndTime() == null) {
-			throw new IllegalArgumentException("startTime and endTime are required");
+	/**
+	 * Keyset page ordered by (startTime, id)
+	 * 
+	 * @param cursor Cursor returned by the previous page, or null for the first page
+	 * @param limit  Page size, between 1 and {@value #MAX_PAGE_SIZE}
+	 * @return Events of the page and the cursor of the next one
+	 */
+	@Transactional(readOnly = true)
+	public EventPage findPage(String cursor, int limit) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
 		}
 
-		if (event.getStartTime().isAfter(event.getEndTime())) {
-			throw new IllegalArgumentException("startTime must be before endTime");
+		List<Event> events;
+		if (cursor == null || cursor.isBlank()) {
+			events = eventRepository.findFirstPage(Limit.of(limit));
+		} else {
+			EventCursor after = EventCursor.decode(cursor);
+			events = eventRepository.findPageAfter(after.startTime(), after.id(), Limit.of(limit));
 		}
 
-		return eventRepository.save(event);
+		String nextCursor = events.size() < limit ? null : EventCursor.of(events.get(events.size() - 1)).encode();
+		return new EventPage(events, nextCursor);
+	}
+
+	/**
+	 * Walk every event without holding the table in memory. Each entity is
+	 * detached once handed to the consumer so the persistence context stays empty.
+	 */
+	@Transactional(readOnly = true)
+	public void streamAll(Consumer<Event> consumer) {
+		try (Stream<Event> events = eventRepository.streamAll()) {
+			events.forEach(event -> {
+				consumer.accept(event);
+				entityManager.detach(event);
+			});
+		}
 	}
 
+	/**
+	 * {@link #streamAll} as {@link EventSummary} rows. Nothing enters the
+	 * persistence context, so there is nothing to detach.
+	 */
+	@Transactional(readOnly = true)
+	public void streamAllSummaries(Consumer<EventSummary> consumer) {
+		try (Stream<EventSummary> summaries = eventRepository.streamAllSummaries()) {
+			summaries.forEach(consumer);
+		}
+	}
+
+	@Transactional
+	public Event save(Event event) {
+		validate(event);
+		partitionService.checkDuration(event);
+		conflictService.check(event);
+		EventChange.Type change = event.getId() == null ? EventChange.Type.CREATED : EventChange.Type.UPDATED;
+		Event saved = eventRepository.save(event);
+		changeService.record(saved, change);
+		streamService.publish(EventNotification.of(saved, EventNotification.Type.valueOf(change.name())));
+		rangeCache.invalidate(saved.getCreatedBy());
+		return saved;
+	}
+
+	/**
+	 * Version of the whole table, answered by an aggregate over
+	 * idx_event_updated_at without loading any event.
+	 */
+	@Transactional(readOnly = true)
+	public EventVersion getVersion() {
+		return eventRepository.findVersion();
+	}
+
+	@Transactional(readOnly = true)
+	public EventVersion getVersion(Long id) {
+		return eventRepository.findVersionById(id);
+	}
+
+	/**
+	 * Version of the events {@link #searchEventsByDateRange(LocalDate, LocalDate)}
+	 * returns for the same range.
+	 */
+	@Transactional(readOnly = true)
+	public EventVersion getVersion(LocalDate startDate, LocalDate endDate) {
+		validateDateRange(startDate, endDate);
+		LocalDateTime start = startDate.atStartOfDay();
+		LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+		return eventRepository.findVersionByDateRange(start, end, partitionService.earliestStart(start))
+				.plus(eventRepository.findSeriesVersionByDateRange(start, end));
+	}
+
+	/**
+	 * Version of the events {@link #searchEventsByDateRange(String, LocalDate, LocalDate)}
+	 * returns for the same user and range.
+	 */
+	@Transactional(readOnly = true)
+	public EventVersion getVersion(String createdBy, LocalDate startDate, LocalDate endDate) {
+		validateDateRange(startDate, endDate);
+		LocalDateTime start = startDate.atStartOfDay();
+		LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+		return eventRepository.findVersionInRange(createdBy, start, end, partitionService.earliestStart(start))
+				.plus(eventRepository.findSeriesVersionInRange(createdBy, start, end));
+	}
+
+	@Transactional(readOnly = true)
 	public Event findById(Long id) {
 		return eventRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Event not found"));
 	}
 
+	/**
+	 * Applies the non-null fields of updateEvent without a version check.
+	 * 
+	 * @see #updateEvent(Long, EventPatch)
+	 */
 	@Transactional
 	public Event updateEvent(Long id, Event updateEvent) {
-		Event event = eventRepository.findById(id).get();
-		event.setTitle(updateEvent.getTitle());
-		event.setDescription(updateEvent.getDescription());
-		event.setStartTime(updateEvent.getStartTime());
-		event.setEndTime(updateEvent.getEndTime());
-		return eventRepository.save(event);
+		return updateEvent(id, EventPatch.of(updateEvent));
+	}
+
+	/**
+	 * Partial update of an event. When neither the times nor the recurrence
+	 * fields change, it is one conditional UPDATE that checks the version in
+	 * its WHERE clause. Otherwise, or when that UPDATE matches no row, the
+	 * event is loaded to tell why and, if the edit is valid, saved with
+	 * Hibernate's version check; loading it also yields the span the event
+	 * moves out of, which the UPDATED notification carries.
+	 * <p>
+	 * Either way the request costs two statements: a successful UPDATE is
+	 * followed by a primary-key SELECT of the row to return, because
+	 * UPDATE ... RETURNING is not portable JPQL. What the UPDATE saves is the
+	 * Hibernate dirty check and the window between reading and writing.
+	 * 
+	 * @throws IllegalArgumentException        when the event does not exist or the result is invalid
+	 * @throws OptimisticLockingFailureException when the event is no longer at patch.version()
+	 * @throws EventConflictException            when conflict detection is on and the new times overlap
+	 */
+	@Transactional
+	public Event updateEvent(Long id, EventPatch patch) {
+		if (patch.startTime() != null && patch.endTime() != null && patch.startTime().isAfter(patch.endTime())) {
+			throw new IllegalArgumentException("startTime must be before endTime");
+		}
+
+		boolean loadFirst = patch.touchesRecurrence() || patch.startTime() != null || patch.endTime() != null;
+		int updated = loadFirst ? 0
+				: eventRepository.patch(id, patch.version(), patch.title(), patch.description(), patch.startTime(),
+						patch.endTime(), patch.event_type());
+		EventNotification notification;
+		Event saved;
+		if (updated == 1) {
+			// the span did not change
+			saved = findById(id);
+			notification = EventNotification.updated(saved, saved.getStartTime(), EventNotification.spanEnd(saved));
+		} else {
+			Event event = findById(id);
+			LocalDateTime previousStart = event.getStartTime();
+			LocalDateTime previousEnd = EventNotification.spanEnd(event);
+			saved = updateLoaded(event, patch);
+			notification = EventNotification.updated(saved, previousStart, previousEnd);
+		}
+		changeService.record(saved, EventChange.Type.UPDATED);
+		streamService.publish(notification);
+		rangeCache.invalidate(saved.getCreatedBy());
+		return saved;
+	}
+
+	private Event updateLoaded(Event event, EventPatch patch) {
+		if (patch.version() != null && patch.version() != event.getVersion()) {
+			throw new OptimisticLockingFailureException(
+					"Event " + event.getId() + " was modified concurrently; current version is " + event.getVersion());
+		}
+
+		LocalDateTime startTime = event.getStartTime();
+		LocalDateTime endTime = event.getEndTime();
+		patch.applyTo(event);
+		validate(event);
+		partitionService.checkDuration(event);
+		// overlaps accepted earlier, e.g. by a flagging import, do not block edits that keep the times
+		if (!event.getStartTime().equals(startTime) || !event.getEndTime().equals(endTime)) {
+			conflictService.check(event);
+		}
+		return eventRepository.saveAndFlush(event);
 	}
 
+	@Transactional
 	public void deleteById(Long id) {
 		try {
-			eventRepository.deleteById(id);
+			eventRepository.findById(id).ifPresent(event -> {
+				eventRepository.delete(event);
+				changeService.record(event, EventChange.Type.DELETED);
+				streamService.publish(EventNotification.of(event, EventNotification.Type.DELETED));
+				rangeCache.invalidate(event.getCreatedBy());
+			});
 		} catch (Exception e) {
 			throw new RuntimeException("Error deleting event", e);
 		}
 	}
 
 	/**
-	 * Search events within a date range
+	 * Search events overlapping a date range, including events that started
+	 * before startDate and are still running. Recurring series are expanded
+	 * into their occurrences inside the range only.
 	 * 
 	 * @param startDate Start date (inclusive)
 	 * @param endDate   End date (inclusive)
-	 * @return List of events sorted by start time
+	 * @return List of events and occurrences sorted by start time
 	 */
+	@Transactional(readOnly = true)
 	public List<Event> searchEventsByDateRange(LocalDate startDate, LocalDate endDate) {
+		validateDateRange(startDate, endDate);
+
+		LocalDateTime startDateTime = startDate.atStartOfDay();
+		LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+
+		List<Event> result = withOccurrences(eventRepository.findEventsByDateRange(startDateTime, endDateTime,
+				partitionService.earliestStart(startDateTime)),
+				eventRepository.findSeriesByDateRange(startDateTime, endDateTime), startDateTime, endDateTime);
+		metrics.recordSearch(false, false, result.size());
+		return result;
+	}
+
+	/**
+	 * Search one user's events overlapping a date range, answered from the
+	 * in-process interval cache when it is enabled. Recurring series are
+	 * expanded into their occurrences inside the range only.
+	 * 
+	 * @param createdBy Owner of the events
+	 * @param startDate Start date (inclusive)
+	 * @param endDate   End date (inclusive)
+	 * @return List of events and occurrences sorted by start time
+	 */
+	@Transactional(readOnly = true)
+	public List<Event> searchEventsByDateRange(String createdBy, LocalDate startDate, LocalDate endDate) {
+		validateDateRange(startDate, endDate);
+
+		LocalDateTime startDateTime = startDate.atStartOfDay();
+		LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+
+		List<Event> events = rangeCache.findInRange(createdBy, startDateTime, endDateTime,
+				limit -> eventRepository.findByCreatedByAndRecurrenceRuleIsNullOrderByStartTimeAsc(createdBy, limit))
+				.orElseGet(() -> eventRepository.findEventsInRange(createdBy, startDateTime, endDateTime,
+						partitionService.earliestStart(startDateTime)));
+		List<Event> result = withOccurrences(events,
+				eventRepository.findSeriesInRange(createdBy, startDateTime, endDateTime), startDateTime, endDateTime);
+		metrics.recordSearch(true, false, result.size());
+		return result;
+	}
+
+	/**
+	 * {@link #searchEventsByDateRange(LocalDate, LocalDate)} reduced to
+	 * {@link EventSummary}. Single events are read as projections; only the
+	 * few recurring series are loaded as entities to expand them.
+	 */
+	@Transactional(readOnly = true)
+	public List<EventSummary> searchSummariesByDateRange(LocalDate startDate, LocalDate endDate) {
+		validateDateRange(startDate, endDate);
+
+		LocalDateTime startDateTime = startDate.atStartOfDay();
+		LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+
+		List<EventSummary> result = withOccurrenceSummaries(eventRepository.findSummariesByDateRange(startDateTime,
+				endDateTime, partitionService.earliestStart(startDateTime)),
+				eventRepository.findSeriesByDateRange(startDateTime, endDateTime), startDateTime, endDateTime);
+		metrics.recordSearch(false, true, result.size());
+		return result;
+	}
+
+	/**
+	 * {@link #searchEventsByDateRange(String, LocalDate, LocalDate)} reduced to
+	 * {@link EventSummary}; a range cache hit is mapped instead of queried.
+	 */
+	@Transactional(readOnly = true)
+	public List<EventSummary> searchSummariesByDateRange(String createdBy, LocalDate startDate, LocalDate endDate) {
+		validateDateRange(startDate, endDate);
+
+		LocalDateTime startDateTime = startDate.atStartOfDay();
+		LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+
+		List<EventSummary> summaries = rangeCache.findInRange(createdBy, startDateTime, endDateTime,
+				limit -> eventRepository.findByCreatedByAndRecurrenceRuleIsNullOrderByStartTimeAsc(createdBy, limit))
+				.map(events -> events.stream().map(EventSummary::of).toList())
+				.orElseGet(() -> eventRepository.findSummariesInRange(createdBy, startDateTime, endDateTime,
+						partitionService.earliestStart(startDateTime)));
+		List<EventSummary> result = withOccurrenceSummaries(summaries,
+				eventRepository.findSeriesInRange(createdBy, startDateTime, endDateTime), startDateTime, endDateTime);
+		metrics.recordSearch(true, true, result.size());
+		return result;
+	}
+
+	/**
+	 * Merged busy intervals and free gaps of a set of users, computed by a
+	 * sweep over the start and end times of their events and occurrences
+	 * 
+	 * @param users Owners whose events count as busy
+	 * @param from  Window start (inclusive)
+	 * @param to    Window end (exclusive)
+	 * @return Busy and free intervals inside the window
+	 */
+	@Transactional(readOnly = true)
+	public FreeBusy findFreeBusy(Collection<String> users, LocalDateTime from, LocalDateTime to) {
+		if (users == null || users.isEmpty()) {
+			throw new IllegalArgumentException("At least one user is required");
+		}
+
+		if (from == null || to == null) {
+			throw new IllegalArgumentException("from and to cannot be null");
+		}
+
+		if (!from.isBefore(to)) {
+			throw new IllegalArgumentException("from must be before to");
+		}
+
+		FreeBusySweep sweep = new FreeBusySweep(from, to);
+		try (Stream<Object[]> times = eventRepository.streamBusyTimes(users, from, to,
+				partitionService.earliestStart(from))) {
+			times.forEach(time -> sweep.add((LocalDateTime) time[0], (LocalDateTime) time[1]));
+		}
+		for (Event series : eventRepository.findSeriesOfUsersInRange(users, from, to)) {
+			EventOccurrences.between(series, from, to)
+					.forEach(occurrence -> sweep.add(occurrence.getStartTime(), occurrence.getEndTime()));
+		}
+		return sweep.result();
+	}
+
+	/**
+	 * Rules every stored event must satisfy; recurrence rules are rewritten to
+	 * canonical form. Shared with {@link EventBulkService}.
+	 */
+	static void validate(Event event) {
+		if (event.getStartTime() == null || event.getEndTime() == null) {
+			throw new IllegalArgumentException("startTime and endTime are required");
+		}
+
+		if (event.getStartTime().isAfter(event.getEndTime())) {
+			throw new IllegalArgumentException("startTime must be before endTime");
+		}
+
+		applyRecurrence(event);
+	}
+
+	private static void validateDateRange(LocalDate startDate, LocalDate endDate) {
 		if (startDate == null || endDate == null) {
 			throw new IllegalArgumentException("Start date and end date cannot be null");
 		}
@@ -72,10 +404,54 @@ public class EventService {
 		if (startDate.isAfter(endDate)) {
 			throw new IllegalArgumentException("Start date must be before or equal to end date");
 		}
+	}
+
+	/**
+	 * Validates the recurrence rule of a series, stores it in canonical form
+	 * and derives recurrenceEnd so range queries can skip finished series.
+	 */
+	private static void applyRecurrence(Event event) {
+		if (event.getRecurrenceRule() == null || event.getRecurrenceRule().isBlank()) {
+			event.setRecurrenceRule(null);
+			event.setRecurrenceExceptions(null);
+			event.setRecurrenceEnd(null);
+			return;
+		}
 
-		LocalDateTime startDateTime = startDate.atStartOfDay();
-		LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
+		if (event.getStartTime() == null || event.getEndTime() == null) {
+			throw new IllegalArgumentException("startTime and endTime are required");
+		}
 
-		return eventRepository.findEventsByDateRange(startDateTime, endDateTime);
+		RecurrenceRule rule = RecurrenceRule.parse(event.getRecurrenceRule());
+		if (rule.until() != null && rule.until().isBefore(event.getStartTime())) {
+			throw new IllegalArgumentException("UNTIL must not be before startTime");
+		}
+
+		LocalDateTime lastStart = rule.lastStart(event.getStartTime());
+		event.setRecurrenceRule(rule.toString());
+		event.setRecurrenceEnd(lastStart == null ? null
+				: lastStart.plus(Duration.between(event.getStartTime(), event.getEndTime())));
+	}
+
+	private static List<Event> withOccurrences(List<Event> events, List<Event> series, LocalDateTime from,
+			LocalDateTime to) {
+		if (series.isEmpty()) {
+			return events;
+		}
+		return Stream.concat(events.stream(), series.stream().flatMap(s -> EventOccurrences.between(s, from, to)))
+				.sorted(Comparator.comparing(Event::getStartTime))
+				.toList();
+	}
+
+	private static List<EventSummary> withOccurrenceSummaries(List<EventSummary> summaries, List<Event> series,
+			LocalDateTime from, LocalDateTime to) {
+		if (series.isEmpty()) {
+			return summaries;
+		}
+		return Stream.concat(summaries.stream(), series.stream()
+				.flatMap(s -> EventOccurrences.between(s, from, to))
+				.map(EventSummary::of))
+				.sorted(Comparator.comparing(EventSummary::startTime))
+				.toList();
 	}
 }
@@ -0,0 +1,147 @@
+package com.calendar.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Registry of Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber owns a bounded queue drained by its own virtual thread, so
+ * an idle connection is a parked virtual thread and no servlet thread, and a
+ * slow client only ever blocks itself. Publishing never blocks: a subscriber
+ * whose queue is full is disconnected and is expected to reconnect and catch
+ * up through {@code GET /events/changes}. Inside a transaction the
+ * notification is sent after commit, so clients never see rolled-back writes.
+ */
+@Service
+public class EventStreamService {
+
+	private final long timeoutMillis;
+	private final int queueCapacity;
+	private final long heartbeatSeconds;
+	private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+	private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+	public EventStreamService(@Value("${calendar.stream.timeout-ms:1800000}") long timeoutMillis,
+			@Value("${calendar.stream.queue-capacity:256}") int queueCapacity,
+			@Value("${calendar.stream.heartbeat-seconds:30}") long heartbeatSeconds) {
+		this.timeoutMillis = timeoutMillis;
+		this.queueCapacity = queueCapacity;
+		this.heartbeatSeconds = heartbeatSeconds;
+	}
+
+	/**
+	 * @param createdBy Only notifications of this user's events, or null for all
+	 * @param from      Only events ending after from, or null
+	 * @param to        Only events starting before to, or null
+	 */
+	public SseEmitter subscribe(String createdBy, LocalDateTime from, LocalDateTime to) {
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		Subscription subscription = new Subscription(emitter, createdBy, from, to,
+				new ArrayBlockingQueue<>(queueCapacity));
+		subscriptions.add(subscription);
+		emitter.onCompletion(subscription::close);
+		emitter.onTimeout(subscription::close);
+		emitter.onError(error -> subscription.close());
+		subscription.sender = senders.submit(subscription::run);
+		return emitter;
+	}
+
+	public void publish(EventNotification notification) {
+		if (subscriptions.isEmpty()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					dispatch(notification);
+				}
+			});
+		} else {
+			dispatch(notification);
+		}
+	}
+
+	int subscriberCount() {
+		return subscriptions.size();
+	}
+
+	@PreDestroy
+	void shutdown() {
+		subscriptions.forEach(subscription -> subscription.emitter.complete());
+		senders.shutdownNow();
+	}
+
+	private void dispatch(EventNotification notification) {
+		for (Subscription subscription : subscriptions) {
+			if (notification.matches(subscription.createdBy, subscription.from, subscription.to)
+					&& !subscription.queue.offer(notification)) {
+				subscription.emitter.complete();
+				subscription.close();
+			}
+		}
+	}
+
+	private final class Subscription {
+
+		private final SseEmitter emitter;
+		private final String createdBy;
+		private final LocalDateTime from;
+		private final LocalDateTime to;
+		private final BlockingQueue<EventNotification> queue;
+		private volatile Future<?> sender;
+
+		Subscription(SseEmitter emitter, String createdBy, LocalDateTime from, LocalDateTime to,
+				BlockingQueue<EventNotification> queue) {
+			this.emitter = emitter;
+			this.createdBy = createdBy;
+			this.from = from;
+			this.to = to;
+			this.queue = queue;
+		}
+
+		void run() {
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					EventNotification notification = queue.poll(heartbeatSeconds, TimeUnit.SECONDS);
+					if (notification == null) {
+						emitter.send(SseEmitter.event().comment("keep-alive"));
+					} else {
+						emitter.send(SseEmitter.event().name(notification.type().name()).data(notification));
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException | IllegalStateException e) {
+				emitter.completeWithError(e);
+			} finally {
+				subscriptions.remove(this);
+			}
+		}
+
+		void close() {
+			subscriptions.remove(this);
+			Future<?> running = sender;
+			if (running != null) {
+				running.cancel(true);
+			}
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.calendar.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Merged busy intervals of a set of users inside a window, and the free gaps
+ * between them. Both lists are ordered and half-open.
+ */
+public record FreeBusy(LocalDateTime from, LocalDateTime to, List<Interval> busy, List<Interval> free) {
+
+	public record Interval(LocalDateTime start, LocalDateTime end) {
+	}
+}
@@ -0,0 +1,98 @@
+package com.calendar.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sweep-line merge of busy intervals clipped to one window.
+ * <p>
+ * Starts and ends are collected into two primitive arrays and sorted
+ * independently; walking both in order while counting open intervals yields
+ * the merged busy blocks in O(n log n) without an object per interval.
+ * Back-to-back intervals are merged into one block.
+ */
+final class FreeBusySweep {
+
+	private final LocalDateTime from;
+	private final LocalDateTime to;
+	private final long windowStart;
+	private final long windowEnd;
+	private long[] starts = new long[64];
+	private long[] ends = new long[64];
+	private int size;
+
+	FreeBusySweep(LocalDateTime from, LocalDateTime to) {
+		this.from = from;
+		this.to = to;
+		this.windowStart = toSeconds(from);
+		this.windowEnd = toSeconds(to);
+	}
+
+	void add(LocalDateTime start, LocalDateTime end) {
+		long clippedStart = Math.max(toSeconds(start), windowStart);
+		long clippedEnd = Math.min(toSeconds(end), windowEnd);
+		if (clippedStart >= clippedEnd) {
+			return;
+		}
+		if (size == starts.length) {
+			starts = Arrays.copyOf(starts, size * 2);
+			ends = Arrays.copyOf(ends, size * 2);
+		}
+		starts[size] = clippedStart;
+		ends[size] = clippedEnd;
+		size++;
+	}
+
+	FreeBusy result() {
+		Arrays.sort(starts, 0, size);
+		Arrays.sort(ends, 0, size);
+
+		List<FreeBusy.Interval> busy = new ArrayList<>();
+		List<FreeBusy.Interval> free = new ArrayList<>();
+		long freeStart = windowStart;
+		long busyStart = 0;
+		int active = 0;
+		int i = 0;
+		int j = 0;
+		while (i < size) {
+			if (starts[i] <= ends[j]) {
+				if (active++ == 0) {
+					busyStart = starts[i];
+				}
+				i++;
+			} else {
+				if (--active == 0) {
+					freeStart = close(busyStart, ends[j], freeStart, busy, free);
+				}
+				j++;
+			}
+		}
+		if (size > 0) {
+			freeStart = close(busyStart, ends[size - 1], freeStart, busy, free);
+		}
+		if (freeStart < windowEnd) {
+			free.add(new FreeBusy.Interval(toDateTime(freeStart), to));
+		}
+		return new FreeBusy(from, to, busy, free);
+	}
+
+	private static long close(long busyStart, long busyEnd, long freeStart, List<FreeBusy.Interval> busy,
+			List<FreeBusy.Interval> free) {
+		if (freeStart < busyStart) {
+			free.add(new FreeBusy.Interval(toDateTime(freeStart), toDateTime(busyStart)));
+		}
+		busy.add(new FreeBusy.Interval(toDateTime(busyStart), toDateTime(busyEnd)));
+		return busyEnd;
+	}
+
+	private static long toSeconds(LocalDateTime time) {
+		return time.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	private static LocalDateTime toDateTime(long seconds) {
+		return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,137 @@
+package com.calendar.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Owns the directory uploads are staged in before the import job reads them.
+ * <p>
+ * The multipart location is configured to the same directory, so staging a
+ * multipart upload is a rename of the container's spool file rather than a
+ * second copy. Raw request bodies are spooled with FileChannel.transferFrom.
+ * Only files inside the staging directory are ever released (deleted).
+ */
+@Service
+public class ImportStagingService {
+
+	private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+	private static final int CHECKSUM_BUFFER = 1024 * 1024;
+
+	private final Path stagingDir;
+
+	public ImportStagingService(@Value("${calendar.import.staging-dir:${java.io.tmpdir}/calendar-import}") Path stagingDir) {
+		this.stagingDir = stagingDir.toAbsolutePath().normalize();
+		try {
+			Files.createDirectories(this.stagingDir);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create import staging directory " + this.stagingDir, e);
+		}
+	}
+
+	public Path stage(MultipartFile file) throws IOException {
+		Path target = newStagingFile();
+		try {
+			file.transferTo(target.toFile());
+			return target;
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(target);
+			throw e;
+		}
+	}
+
+	public Path stage(InputStream body) throws IOException {
+		Path target = newStagingFile();
+		try (ReadableByteChannel source = Channels.newChannel(body);
+				FileChannel destination = FileChannel.open(target, StandardOpenOption.WRITE)) {
+			long position = 0;
+			long transferred;
+			while ((transferred = destination.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+				position += transferred;
+			}
+			return target;
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(target);
+			throw e;
+		}
+	}
+
+	/**
+	 * Moves a file picked up from the watched import directory into the
+	 * staging directory; a rename when both are on the same file system.
+	 */
+	public Path stage(Path file) throws IOException {
+		Path target = newStagingFile();
+		try {
+			return Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(target);
+			throw e;
+		}
+	}
+
+	/**
+	 * SHA-256 of the file as 64 hex digits, read sequentially in large
+	 * blocks; a re-upload of identical bytes gets the same checksum whatever
+	 * its name.
+	 */
+	public String checksum(Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			while (channel.read(buffer) > 0) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	public boolean isStaged(Path file) {
+		return file.toAbsolutePath().normalize().startsWith(stagingDir);
+	}
+
+	/**
+	 * Deletes a staged file once its import no longer needs it. Files outside
+	 * the staging directory are left alone.
+	 */
+	public void release(String filePath) {
+		if (filePath == null) {
+			return;
+		}
+		Path file = Path.of(filePath);
+		if (!isStaged(file)) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot delete staged file " + file, e);
+		}
+	}
+
+	private Path newStagingFile() throws IOException {
+		return Files.createTempFile(stagingDir, "upload-", ".csv");
+	}
+}
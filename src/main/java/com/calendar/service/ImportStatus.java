@@ -0,0 +1,91 @@
+package com.calendar.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+/**
+ * Progress of one import job execution, summed over its steps, plus the
+ * overlaps found when import conflict detection is on. writeCount includes
+ * the duplicateCount rows a deduplicating import left out.
+ */
+public record ImportStatus(Long jobExecutionId,
+		String status,
+		String exitCode,
+		String exitDescription,
+		long readCount,
+		long writeCount,
+		long skipCount,
+		long filterCount,
+		long duplicateCount,
+		LocalDateTime startTime,
+		LocalDateTime endTime,
+		double rowsPerSecond,
+		long conflictCount,
+		List<String> conflicts) {
+
+	/** Step execution context key of the rows a deduplicating import found already stored. */
+	public static final String DUPLICATE_COUNT_KEY = "duplicateCount";
+
+	/** Job execution context key of the file the skipped lines were written to. */
+	public static final String ERROR_FILE_KEY = "errorFile";
+
+	/** Job execution context key of the number of overlapping rows found. */
+	public static final String CONFLICT_COUNT_KEY = "conflictCount";
+
+	/** Job execution context key of a sample of those rows, one line each. */
+	public static final String CONFLICTS_KEY = "conflicts";
+
+	public static ImportStatus of(JobExecution execution) {
+		long read = 0;
+		long write = 0;
+		long skip = 0;
+		long filter = 0;
+		long duplicates = 0;
+		for (StepExecution step : countedSteps(execution.getStepExecutions())) {
+			read += step.getReadCount();
+			write += step.getWriteCount();
+			skip += step.getSkipCount();
+			filter += step.getFilterCount();
+			duplicates += step.getExecutionContext().getLong(DUPLICATE_COUNT_KEY, 0);
+		}
+
+		LocalDateTime start = execution.getStartTime();
+		LocalDateTime end = execution.getEndTime();
+		double rowsPerSecond = 0;
+		if (start != null) {
+			long millis = Duration.between(start, end != null ? end : LocalDateTime.now()).toMillis();
+			rowsPerSecond = millis > 0 ? write * 1000.0 / millis : 0;
+		}
+
+		return new ImportStatus(execution.getId(),
+				execution.getStatus().name(),
+				execution.getExitStatus().getExitCode(),
+				execution.getExitStatus().getExitDescription(),
+				read, write, skip, filter, duplicates,
+				start, end, rowsPerSecond,
+				execution.getExecutionContext().getLong(CONFLICT_COUNT_KEY, 0),
+				conflicts(execution));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> conflicts(JobExecution execution) {
+		Object conflicts = execution.getExecutionContext().get(CONFLICTS_KEY);
+		return conflicts instanceof List<?> list ? (List<String>) list : List.of();
+	}
+
+	/**
+	 * A partition manager step repeats the totals of its workers, so when
+	 * partition steps ("name:partitionN") are present only they are counted.
+	 */
+	private static Collection<StepExecution> countedSteps(Collection<StepExecution> steps) {
+		List<StepExecution> partitions = steps.stream()
+				.filter(step -> step.getStepName().contains(":"))
+				.toList();
+		return partitions.isEmpty() ? steps : partitions;
+	}
+}
@@ -0,0 +1,33 @@
+package com.calendar.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ImportStatusService {
+
+	private final JobExplorer jobExplorer;
+
+	public ImportStatusService(JobExplorer jobExplorer) {
+		this.jobExplorer = jobExplorer;
+	}
+
+	public Optional<ImportStatus> findStatus(Long jobExecutionId) {
+		return Optional.ofNullable(jobExplorer.getJobExecution(jobExecutionId))
+				.map(ImportStatus::of);
+	}
+
+	/**
+	 * File the lines skipped by the import were written to, if it skipped any.
+	 */
+	public Optional<Path> findErrorFile(Long jobExecutionId) {
+		return Optional.ofNullable(jobExplorer.getJobExecution(jobExecutionId))
+				.map(execution -> execution.getExecutionContext().getString(ImportStatus.ERROR_FILE_KEY, null))
+				.map(Path::of)
+				.filter(Files::isRegularFile);
+	}
+}
@@ -0,0 +1,160 @@
+package com.calendar.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Subset of the iCalendar RRULE: {@code FREQ=DAILY|WEEKLY|MONTHLY} with an
+ * optional {@code INTERVAL} and at most one of {@code COUNT} or {@code UNTIL},
+ * e.g. {@code FREQ=WEEKLY;INTERVAL=2;COUNT=10}.
+ * <p>
+ * The n-th occurrence is computed from the series start instead of by
+ * stepping, so seeking to a window far into a series costs O(1). Monthly
+ * occurrences on a day the month lacks fall on its last day.
+ */
+public record RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until) {
+
+	public enum Frequency {
+		DAILY(ChronoUnit.DAYS), WEEKLY(ChronoUnit.WEEKS), MONTHLY(ChronoUnit.MONTHS);
+
+		private final ChronoUnit unit;
+
+		Frequency(ChronoUnit unit) {
+			this.unit = unit;
+		}
+	}
+
+	private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+	private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+	public RecurrenceRule {
+		if (frequency == null) {
+			throw new IllegalArgumentException("FREQ is required");
+		}
+		if (interval < 1) {
+			throw new IllegalArgumentException("INTERVAL must be positive");
+		}
+		if (count != null && count < 1) {
+			throw new IllegalArgumentException("COUNT must be positive");
+		}
+		if (count != null && until != null) {
+			throw new IllegalArgumentException("COUNT and UNTIL cannot both be set");
+		}
+	}
+
+	public static RecurrenceRule parse(String rule) {
+		if (rule == null || rule.isBlank()) {
+			throw new IllegalArgumentException("Recurrence rule cannot be empty");
+		}
+
+		Frequency frequency = null;
+		int interval = 1;
+		Integer count = null;
+		LocalDateTime until = null;
+		String body = rule.trim();
+		if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+			body = body.substring(6);
+		}
+		for (String part : body.split(";")) {
+			int separator = part.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid recurrence rule: " + rule);
+			}
+			String name = part.substring(0, separator).trim().toUpperCase(Locale.ROOT);
+			String value = part.substring(separator + 1).trim();
+			try {
+				switch (name) {
+					case "FREQ" -> frequency = parseFrequency(value);
+					case "INTERVAL" -> interval = Integer.parseInt(value);
+					case "COUNT" -> count = Integer.valueOf(value);
+					case "UNTIL" -> until = parseUntil(value);
+					default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+				}
+			} catch (NumberFormatException | DateTimeParseException e) {
+				throw new IllegalArgumentException("Invalid recurrence rule: " + rule, e);
+			}
+		}
+		return new RecurrenceRule(frequency, interval, count, until);
+	}
+
+	/**
+	 * Start of the n-th occurrence (0-based), ignoring COUNT and UNTIL.
+	 */
+	public LocalDateTime occurrence(LocalDateTime seriesStart, long n) {
+		return seriesStart.plus(n * interval, frequency.unit);
+	}
+
+	/**
+	 * Whether the n-th occurrence, starting at start, is still part of the series.
+	 */
+	public boolean includes(long n, LocalDateTime start) {
+		return (count == null || n < count) && (until == null || !start.isAfter(until));
+	}
+
+	/**
+	 * Smallest n whose occurrence starts strictly after time.
+	 */
+	public long firstIndexAfter(LocalDateTime seriesStart, LocalDateTime time) {
+		long n = Math.max(0, frequency.unit.between(seriesStart, time) / interval);
+		while (n > 0 && occurrence(seriesStart, n - 1).isAfter(time)) {
+			n--;
+		}
+		while (!occurrence(seriesStart, n).isAfter(time)) {
+			n++;
+		}
+		return n;
+	}
+
+	/**
+	 * Start of the last occurrence, or null when the series is unbounded or
+	 * has no occurrence at all.
+	 */
+	public LocalDateTime lastStart(LocalDateTime seriesStart) {
+		if (count != null) {
+			return occurrence(seriesStart, count - 1L);
+		}
+		if (until != null && !seriesStart.isAfter(until)) {
+			return occurrence(seriesStart, firstIndexAfter(seriesStart, until) - 1);
+		}
+		return null;
+	}
+
+	/**
+	 * Canonical form, e.g. {@code FREQ=DAILY;INTERVAL=1;UNTIL=20251231T235959}.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder rule = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(interval);
+		if (count != null) {
+			rule.append(";COUNT=").append(count);
+		}
+		if (until != null) {
+			rule.append(";UNTIL=").append(UNTIL_DATE_TIME.format(until));
+		}
+		return rule.toString();
+	}
+
+	private static Frequency parseFrequency(String value) {
+		for (Frequency frequency : Frequency.values()) {
+			if (frequency.name().equalsIgnoreCase(value)) {
+				return frequency;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported FREQ: " + value);
+	}
+
+	private static LocalDateTime parseUntil(String value) {
+		String local = value.endsWith("Z") || value.endsWith("z") ? value.substring(0, value.length() - 1) : value;
+		if (local.indexOf('T') < 0) {
+			return LocalDate.parse(local, UNTIL_DATE).atTime(23, 59, 59);
+		}
+		if (local.indexOf('-') >= 0) {
+			return LocalDateTime.parse(local);
+		}
+		return LocalDateTime.parse(local, UNTIL_DATE_TIME);
+	}
+}
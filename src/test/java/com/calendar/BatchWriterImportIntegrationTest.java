@@ -0,0 +1,83 @@
+package com.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.repository.EventRepository;
+import com.calendar.service.EventChangeService;
+import com.calendar.service.EventChanges;
+
+/**
+ * calendar.import.writer=copy on H2 must fall back to the JDBC batch writer.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:writertestdb",
+    "spring.datasource.driverClassName=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "calendar.import.writer=copy"
+})
+public class BatchWriterImportIntegrationTest {
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private Job importEventJob;
+
+    @Autowired
+    private ItemWriter<Event> calenderEventWriter;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventChangeService eventChangeService;
+
+    @Test
+    public void testImportEventsWithJdbcFallback() throws Exception {
+        String csvContent = "createdBy,title,description,startTime,endTime,event_type\n" +
+                            "Admin,Meeting,Team meeting,2025-09-22 10:00:00,2025-09-22 11:00:00,Meeting\n" +
+                            "User,Conference,,2025-09-23 14:00:00,2025-09-23 16:00:00,Conference\n";
+        Path tempFile = Files.createTempFile("test-events", ".csv");
+        Files.writeString(tempFile, csvContent);
+
+        JobExecution execution = jobLauncher.run(importEventJob, new JobParametersBuilder()
+                .addString("filePath", tempFile.toAbsolutePath().toString())
+                .toJobParameters());
+
+        assertThat(calenderEventWriter).isInstanceOf(JdbcBatchItemWriter.class);
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        List<Event> events = eventRepository.findAll();
+        assertThat(events).hasSize(2);
+        Event meeting = events.stream().filter(e -> e.getTitle().equals("Meeting")).findFirst().orElseThrow();
+        assertThat(meeting.getStartTime()).isEqualTo(LocalDateTime.of(2025, 9, 22, 10, 0));
+        assertThat(meeting.getEvent_type()).isEqualTo("Meeting");
+        assertThat(eventChangeService.findChanges(null, null, 100).changes())
+                .extracting(EventChanges.Entry::type)
+                .containsExactly(EventChange.Type.CREATED, EventChange.Type.CREATED);
+
+        Files.deleteIfExists(tempFile);
+    }
+}
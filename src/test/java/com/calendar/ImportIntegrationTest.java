@@ -2,20 +2,29 @@ package com.calendar;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
+import com.calendar.config.spring_batch.CalendarImportGateway;
 import com.calendar.domain.Event;
 import com.calendar.repository.EventRepository;
+import com.calendar.service.ImportStagingService;
+import com.calendar.service.ImportStatus;
+import com.calendar.service.ImportStatusService;
 
 @SpringBootTest
 @TestPropertySource(properties = {
@@ -37,6 +46,15 @@ public class ImportIntegrationTest {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private CalendarImportGateway calendarImportGateway;
+
+    @Autowired
+    private ImportStatusService importStatusService;
+
+    @Autowired
+    private ImportStagingService importStagingService;
+
     @Test
     public void testImportEvents() throws Exception {
         // Create a temporary CSV file
@@ -73,4 +91,31 @@ public class ImportIntegrationTest {
         // Clean up
         Files.deleteIfExists(tempFile);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testImportEventsAsynchronouslyThroughGateway() throws Exception {
+        eventRepository.deleteAllInBatch();
+        String csvContent = "createdBy,title,description,startTime,endTime,event_type\n" +
+                            "Admin,Standup,Daily standup,2025-09-24 09:00:00,2025-09-24 09:15:00,Meeting\n";
+        Path stagedFile = importStagingService.stage(new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8)));
+
+        JobExecution execution = calendarImportGateway.importEvents(stagedFile.toString());
+        assertThat(execution.getId()).isNotNull();
+
+        ImportStatus status = importStatusService.findStatus(execution.getId()).orElseThrow();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!status.status().equals(BatchStatus.COMPLETED.name()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            status = importStatusService.findStatus(execution.getId()).orElseThrow();
+        }
+
+        assertThat(status.status()).isEqualTo("COMPLETED");
+        assertThat(status.readCount()).isEqualTo(1);
+        assertThat(status.writeCount()).isEqualTo(1);
+        assertThat(eventRepository.findAll()).extracting(Event::getTitle).containsExactly("Standup");
+        assertThat(stagedFile).doesNotExist();
+
+        // Clean up
+        eventRepository.deleteAllInBatch();
+    }
+}
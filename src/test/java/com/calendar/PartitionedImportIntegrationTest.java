@@ -0,0 +1,86 @@
+package com.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.calendar.repository.EventRepository;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:partitiontestdb",
+    "spring.datasource.driverClassName=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false"
+})
+public class PartitionedImportIntegrationTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private Job importEventPartitionedJob;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Path csvFile;
+
+    @BeforeEach
+    void writeCsv() throws Exception {
+        csvFile = Files.createTempFile("partitioned-events", ".csv");
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile)) {
+            writer.write("createdBy,title,description,startTime,endTime,event_type\r\n");
+            for (int i = 0; i < ROWS; i++) {
+                LocalDateTime start = base.plusHours(i);
+                writer.write("User" + (i % 5) + ",Event " + i + ",Row " + i + ","
+                        + format.format(start) + "," + format.format(start.plusMinutes(30)) + ",Meeting\r\n");
+            }
+        }
+        eventRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void deleteCsv() throws Exception {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 4, 8})
+    void testImportsEveryRowExactlyOnce(long partitions) throws Exception {
+        JobExecution execution = jobLauncher.run(importEventPartitionedJob, new JobParametersBuilder()
+                .addString("filePath", csvFile.toString())
+                .addLong("partitions", partitions)
+                .toJobParameters());
+
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(eventRepository.count()).isEqualTo(ROWS);
+        assertThat(execution.getStepExecutions())
+                .filteredOn(step -> step.getStepName().startsWith("importEventWorkerStep"))
+                .hasSize((int) partitions);
+    }
+}
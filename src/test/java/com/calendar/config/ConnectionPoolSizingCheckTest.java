@@ -0,0 +1,22 @@
+package com.calendar.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectionPoolSizingCheckTest {
+
+	@Test
+	void testImportConnections_JobThreadsOnly() {
+		ConnectionPoolSizingCheck check = new ConnectionPoolSizingCheck(null, true, 2, false, 8);
+
+		assertThat(check.importConnections()).isEqualTo(2);
+	}
+
+	@Test
+	void testImportConnections_PartitionPoolIsShared() {
+		ConnectionPoolSizingCheck check = new ConnectionPoolSizingCheck(null, true, 2, true, 8);
+
+		assertThat(check.importConnections()).isEqualTo(10);
+	}
+}
@@ -0,0 +1,112 @@
+package com.calendar.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.calendar.service.EventRangeCache;
+
+public class ReplicaRoutingDataSourceTest {
+
+	private final DataSource primary = database("routingprimary", "primary");
+	private final DataSource replica = database("routingreplica", "replica");
+
+	private ReplicaRoutingDataSource routing;
+	private DataSourceTransactionManager transactionManager;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		routing = new ReplicaRoutingDataSource(primary, List.of(replica), "SELECT seconds FROM replica_lag",
+				Duration.ofSeconds(5));
+		routing.afterPropertiesSet();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@Test
+	void testOnlyReadOnlyTransactionsGoToTheReplica() {
+		assertThat(node(readOnly)).isEqualTo("replica");
+		assertThat(node(readWrite)).isEqualTo("primary");
+		assertThat(node()).isEqualTo("primary");
+	}
+
+	@Test
+	void testLaggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 60");
+		routing.checkLag();
+
+		assertThat(routing.isAvailable(0)).isFalse();
+		assertThat(node(readOnly)).isEqualTo("primary");
+
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+		routing.checkLag();
+
+		assertThat(node(readOnly)).isEqualTo("replica");
+	}
+
+	@Test
+	void testUnreachableReplicaFallsBackToPrimary() {
+		new JdbcTemplate(replica).execute("DROP TABLE replica_lag");
+		routing.checkLag();
+
+		assertThat(node(readOnly)).isEqualTo("primary");
+	}
+
+	@Test
+	void testRangeCacheFillsFromThePrimary() {
+		EventRangeCache cache = new EventRangeCache(true, 10, 100, transactionManager, true);
+		List<String> loadedFrom = new ArrayList<>();
+		LocalDateTime from = LocalDateTime.of(2025, 9, 22, 0, 0);
+
+		String searchedOn = readOnly.execute(status -> {
+			cache.findInRange("TestUser", from, from.plusDays(1), limit -> {
+				loadedFrom.add(node());
+				return List.of();
+			});
+			return node();
+		});
+
+		assertThat(loadedFrom).containsExactly("primary");
+		assertThat(searchedOn).isEqualTo("replica");
+	}
+
+	private String node(TransactionTemplate transaction) {
+		return transaction.execute(status -> node());
+	}
+
+	private String node() {
+		return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private static DataSource database(String name, String node) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+		jdbcTemplate.execute("DROP TABLE IF EXISTS replica_lag");
+		jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+		jdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+		jdbcTemplate.update("INSERT INTO node VALUES (?)", node);
+		jdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+		return dataSource;
+	}
+}
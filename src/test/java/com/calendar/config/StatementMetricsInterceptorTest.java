@@ -0,0 +1,49 @@
+package com.calendar.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class StatementMetricsInterceptorTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final StatementMetricsInterceptor interceptor = new StatementMetricsInterceptor(registry);
+	private final HibernateStatementCounter counter = new HibernateStatementCounter();
+
+	@Test
+	void testRecordsStatementsPerRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/7");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/events/{id}");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		interceptor.preHandle(request, response, null);
+		counter.inspect("select 1");
+		counter.inspect("select 2");
+		interceptor.afterCompletion(request, response, null, null);
+		counter.inspect("select 3");
+
+		DistributionSummary statements = registry.get(StatementMetricsInterceptor.STATEMENTS_SUMMARY)
+				.tags("method", "GET", "uri", "/events/{id}")
+				.summary();
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat(statements.totalAmount()).isEqualTo(2);
+	}
+
+	@Test
+	void testAsyncRequestsAreNotRecorded() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/stream");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		interceptor.preHandle(request, response, null);
+		interceptor.afterConcurrentHandlingStarted(request, response, null);
+		interceptor.afterCompletion(request, response, null, null);
+
+		assertThat(registry.find(StatementMetricsInterceptor.STATEMENTS_SUMMARY).summary()).isNull();
+	}
+}
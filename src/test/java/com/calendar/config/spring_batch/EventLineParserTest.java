@@ -0,0 +1,70 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import com.calendar.domain.Event;
+
+public class EventLineParserTest {
+
+    private final EventLineParser parser = new EventLineParser();
+
+    @Test
+    void testMapLine() {
+        Event event = parser.mapLine("Admin,Meeting,Team meeting,2025-09-22 10:00:00,2025-09-22 11:30:45,Meeting", 1);
+
+        assertThat(event.getCreatedBy()).isEqualTo("Admin");
+        assertThat(event.getTitle()).isEqualTo("Meeting");
+        assertThat(event.getDescription()).isEqualTo("Team meeting");
+        assertThat(event.getStartTime()).isEqualTo(LocalDateTime.of(2025, 9, 22, 10, 0));
+        assertThat(event.getEndTime()).isEqualTo(LocalDateTime.of(2025, 9, 22, 11, 30, 45));
+        assertThat(event.getEvent_type()).isEqualTo("Meeting");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "Admin,Meeting,Team meeting,2025-09-22 10:00:00,2025-09-22 11:00:00,Meeting",
+        "媽媽, Dinner ,,2025-12-31 18:00:00, 2025-12-31 20:00:00 ,Family",
+        "Admin,\"Review, part \"\"2\"\"\",\"Bring notes\",\"2025-01-05 09:00:00\",2025-01-05 10:00:00,Meeting"
+    })
+    void testMatchesFieldSetMapper(String line) throws Exception {
+        DefaultLineMapper<Event> fieldSetMapper = new EventLineMapper();
+        fieldSetMapper.setLineTokenizer(new EventLineTokenizer());
+        fieldSetMapper.setFieldSetMapper(new EventFieldSetMapper());
+
+        Event expected = fieldSetMapper.mapLine(line, 1);
+        Event actual = parser.mapLine(line, 1);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void testWrongFieldCount() {
+        assertThatThrownBy(() -> parser.mapLine("Admin,Meeting,2025-09-22 10:00:00,2025-09-22 11:00:00,Meeting", 1))
+                .isInstanceOf(IncorrectTokenCountException.class);
+        assertThatThrownBy(() -> parser.mapLine("Admin,Meeting,x,2025-09-22 10:00:00,2025-09-22 11:00:00,Meeting,extra", 1))
+                .isInstanceOfSatisfying(IncorrectTokenCountException.class,
+                        e -> assertThat(e.getActualCount()).isEqualTo(7));
+    }
+
+    @Test
+    void testInvalidTimestamps() {
+        assertThatThrownBy(() -> parser.mapLine("Admin,Meeting,x,2025/09/22 10:00:00,2025-09-22 11:00:00,Meeting", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("startTime");
+        assertThatThrownBy(() -> parser.mapLine("Admin,Meeting,x,2025-09-22 10:00:00,2025-13-22 11:00:00,Meeting", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("endTime");
+        assertThatThrownBy(() -> parser.mapLine("Admin,Meeting,x,2025-09-2a 10:00:00,2025-09-22 11:00:00,Meeting", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2025-09-2a 10:00:00");
+    }
+}
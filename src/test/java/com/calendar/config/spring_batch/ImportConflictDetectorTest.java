@@ -0,0 +1,94 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+
+import com.calendar.domain.Event;
+import com.calendar.service.ImportStatus;
+
+public class ImportConflictDetectorTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 9, 22, 9, 0);
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final JobExecution jobExecution = new JobExecution(7L);
+
+    @AfterEach
+    void tearDown() {
+        StepSynchronizationManager.close();
+    }
+
+    @Test
+    void testFlag_ImportsEverythingAndCountsOverlapsAfterJob() {
+        ImportConflictDetector detector = start(ImportConflictDetector.Mode.FLAG);
+
+        assertThat(rows().stream().map(detector::accept)).containsOnly(true);
+        detector.afterJob(jobExecution);
+
+        // 09:30-11:00 overlaps 09:00-10:00, and 10:00-11:00 overlaps 09:30-11:00
+        assertThat(jobExecution.getExecutionContext().getLong(ImportStatus.CONFLICT_COUNT_KEY)).isEqualTo(2);
+        assertThat(ImportStatus.of(jobExecution).conflicts()).containsExactly(
+                "alice: 'Review' 2025-09-22T09:30/2025-09-22T11:00 overlaps 'Standup' 2025-09-22T09:00/2025-09-22T10:00",
+                "alice: 'Lunch prep' 2025-09-22T10:00/2025-09-22T11:00 overlaps 'Review' 2025-09-22T09:30/2025-09-22T11:00");
+        verify(jobRepository).updateExecutionContext(jobExecution);
+    }
+
+    @Test
+    void testReject_FirstRowWinsAndLaterOverlapsAreFiltered() {
+        ImportConflictDetector detector = start(ImportConflictDetector.Mode.REJECT);
+
+        // the rejected 09:30-11:00 row no longer blocks 10:00-11:00, which only touches 09:00-10:00
+        assertThat(rows().stream().map(detector::accept)).containsExactly(true, false, true, true, true);
+        detector.afterJob(jobExecution);
+
+        assertThat(jobExecution.getExecutionContext().getLong(ImportStatus.CONFLICT_COUNT_KEY)).isEqualTo(1);
+        assertThat(ImportStatus.of(jobExecution).conflicts()).hasSize(1);
+    }
+
+    @Test
+    void testOff_TracksNothing() {
+        ImportConflictDetector detector = start(ImportConflictDetector.Mode.OFF);
+
+        assertThat(rows().stream().map(detector::accept)).containsOnly(true);
+        detector.afterJob(jobExecution);
+
+        assertThat(jobExecution.getExecutionContext().containsKey(ImportStatus.CONFLICT_COUNT_KEY)).isFalse();
+        assertThat(ImportStatus.of(jobExecution).conflictCount()).isZero();
+    }
+
+    private ImportConflictDetector start(ImportConflictDetector.Mode mode) {
+        ImportConflictDetector detector = new ImportConflictDetector(mode, jobRepository);
+        detector.beforeJob(jobExecution);
+        StepSynchronizationManager.register(new StepExecution("importEventWorkerStep:partition0", jobExecution));
+        return detector;
+    }
+
+    private static List<Event> rows() {
+        return List.of(
+                event("alice", "Standup", NINE, NINE.plusHours(1)),
+                event("alice", "Review", NINE.plusMinutes(30), NINE.plusHours(2)),
+                event("alice", "Lunch prep", NINE.plusHours(1), NINE.plusHours(2)),
+                event("bob", "Standup", NINE, NINE.plusHours(1)),
+                event("alice", "Lunch", NINE.plusHours(3), NINE.plusHours(4)));
+    }
+
+    private static Event event(String createdBy, String title, LocalDateTime start, LocalDateTime end) {
+        Event event = new Event();
+        event.setCreatedBy(createdBy);
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(end);
+        return event;
+    }
+}
@@ -0,0 +1,166 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+
+import com.calendar.service.ImportStagingService;
+
+public class ImportDirectoryWatcherTest {
+
+    @TempDir
+    Path dir;
+
+    private final CalendarImportGateway calendarImportGateway = mock(CalendarImportGateway.class);
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private ImportStagingService importStagingService;
+    private Path inbox;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        importStagingService = new ImportStagingService(dir.resolve("staging"));
+        inbox = Files.createDirectories(dir.resolve("inbox"));
+    }
+
+    @Test
+    void testFilterFiles_AcceptsOnlyAsManyFilesAsFreeSlots() throws Exception {
+        ImportDirectoryWatcher watcher = watcher(2);
+        File[] files = { drop("a.csv").toFile(), drop("b.csv").toFile(), drop("c.csv").toFile() };
+
+        assertThat(watcher.filterFiles(files)).hasSize(2);
+        assertThat(watcher.filterFiles(files)).isEmpty();
+    }
+
+    @Test
+    void testImportFile_StagesLaunchesAndFreesTheSlotOnceTheJobEnds() throws Exception {
+        ImportDirectoryWatcher watcher = watcher(1);
+        Path file = drop("nightly.csv");
+        when(calendarImportGateway.importEvents(anyString())).thenAnswer(launched(42L, BatchStatus.STARTING));
+        when(jobExplorer.getJobExecution(42L)).thenReturn(jobExecution(42L, BatchStatus.COMPLETED, "ignored"));
+
+        assertThat(watcher.filterFiles(new File[] { file.toFile() })).containsExactly(file.toFile());
+        watcher.importFile(file.toFile());
+
+        ArgumentCaptor<String> stagedFile = ArgumentCaptor.forClass(String.class);
+        verify(calendarImportGateway).importEvents(stagedFile.capture());
+        assertThat(importStagingService.isStaged(Path.of(stagedFile.getValue()))).isTrue();
+        assertThat(Path.of(stagedFile.getValue())).hasContent("content");
+        assertThat(inbox).isEmptyDirectory();
+        assertThat(watcher.filterFiles(new File[] { drop("next.csv").toFile() })).hasSize(1);
+    }
+
+    @Test
+    void testImportFile_QueueFullPutsTheFileBack() throws Exception {
+        ImportDirectoryWatcher watcher = watcher(1);
+        Path file = drop("nightly.csv");
+        when(calendarImportGateway.importEvents(anyString()))
+                .thenThrow(new ImportQueueFullException("Import queue is full", null));
+
+        watcher.filterFiles(new File[] { file.toFile() });
+        watcher.importFile(file.toFile());
+
+        assertThat(file).hasContent("content");
+        assertThat(dir.resolve("staging")).isEmptyDirectory();
+        assertThat(watcher.filterFiles(new File[] { file.toFile() })).containsExactly(file.toFile());
+    }
+
+    @Test
+    void testImportFile_FailedJobKeepsItsStagedFileForARestart() throws Exception {
+        ImportDirectoryWatcher watcher = watcher(1);
+        Path file = drop("nightly.csv");
+        when(calendarImportGateway.importEvents(anyString())).thenAnswer(launched(42L, BatchStatus.FAILED));
+        when(jobExplorer.getJobExecution(42L)).thenReturn(jobExecution(42L, BatchStatus.FAILED, "ignored"));
+
+        watcher.filterFiles(new File[] { file.toFile() });
+        watcher.importFile(file.toFile());
+
+        ArgumentCaptor<String> stagedFile = ArgumentCaptor.forClass(String.class);
+        verify(calendarImportGateway).importEvents(stagedFile.capture());
+        assertThat(Path.of(stagedFile.getValue())).hasContent("content");
+        assertThat(inbox).isEmptyDirectory();
+    }
+
+    @Test
+    void testImportFile_AlreadyClaimedElsewhere() {
+        ImportDirectoryWatcher watcher = watcher(1);
+        File gone = inbox.resolve("gone.csv").toFile();
+
+        watcher.filterFiles(new File[] { gone });
+        watcher.importFile(gone);
+
+        verify(calendarImportGateway, never()).importEvents(anyString());
+        assertThat(watcher.filterFiles(new File[] { gone })).hasSize(1);
+    }
+
+    @Test
+    void testImportFile_StagingFailurePutsTheFileBack() throws Exception {
+        ImportStagingService failing = mock(ImportStagingService.class);
+        when(failing.stage(any(Path.class))).thenThrow(new IOException("disk full"));
+        ImportDirectoryWatcher watcher = new ImportDirectoryWatcher(calendarImportGateway, failing, jobExplorer, inbox,
+                1, Duration.ofMinutes(30), Duration.ofMillis(10));
+        Path file = drop("nightly.csv");
+
+        watcher.filterFiles(new File[] { file.toFile() });
+        watcher.importFile(file.toFile());
+
+        assertThat(inbox).isDirectoryContaining(path -> path.equals(file)).isDirectoryNotContaining("glob:**.claimed");
+        verify(calendarImportGateway, never()).importEvents(anyString());
+    }
+
+    @Test
+    void testRestoreAbandonedClaims_RenamesOnlyExpiredClaimsBack() throws Exception {
+        Path abandoned = drop("abandoned.csv" + ImportDirectoryWatcher.CLAIMED_SUFFIX);
+        Files.setLastModifiedTime(abandoned, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+        Path recent = ImportDirectoryWatcher.claim(drop("recent.csv"));
+
+        watcher(1).restoreAbandonedClaims();
+
+        assertThat(inbox.resolve("abandoned.csv")).hasContent("content");
+        assertThat(abandoned).doesNotExist();
+        assertThat(recent).exists();
+    }
+
+    private ImportDirectoryWatcher watcher(int concurrency) {
+        return new ImportDirectoryWatcher(calendarImportGateway, importStagingService, jobExplorer, inbox, concurrency,
+                Duration.ofMinutes(30), Duration.ofMillis(10));
+    }
+
+    private Path drop(String name) throws Exception {
+        return Files.writeString(inbox.resolve(name), "content");
+    }
+
+    private static JobExecution jobExecution(Long id, BatchStatus status, String filePath) {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "importEventJob"), id,
+                new JobParametersBuilder().addString("filePath", filePath).toJobParameters());
+        execution.setStatus(status);
+        return execution;
+    }
+
+    /** A new execution of the staged file the watcher passed to the gateway. */
+    private static Answer<JobExecution> launched(Long id, BatchStatus status) {
+        return invocation -> jobExecution(id, status, invocation.getArgument(0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.calendar.domain.Event;
+import com.calendar.service.ImportStatus;
+
+public class ImportErrorFileListenerTest {
+
+    @TempDir
+    Path dir;
+
+    private final JobExecution jobExecution = new JobExecution(new JobInstance(3L, "importEventJob"), 7L,
+            new JobParameters());
+
+    @AfterEach
+    void tearDown() {
+        StepSynchronizationManager.close();
+    }
+
+    @Test
+    void testSkippedLinesAreWrittenWithTheReason() throws Exception {
+        ImportErrorFileListener listener = new ImportErrorFileListener(dir);
+        StepSynchronizationManager.register(new StepExecution("importEventStep", jobExecution));
+
+        listener.onSkipInRead(new FlatFileParseException("Parsing error at line: 2",
+                new IllegalArgumentException("Expected 6 fields"), "Admin,Broken", 2));
+        listener.onSkipInProcess(event("Review"), new IllegalArgumentException("startTime must be before endTime"));
+        listener.onSkipInWrite(event("Dup"), new DataIntegrityViolationException("duplicate key"));
+
+        Path file = listener.errorFile(3L);
+        assertThat(Files.readAllLines(file)).containsExactly(
+                ImportErrorFileListener.HEADER,
+                "\"Expected 6 fields\",\"Admin,Broken\"",
+                "\"startTime must be before endTime\",\"Admin,Review,,2025-09-22 10:00:00,2025-09-22 09:00:00,Meeting\"",
+                "\"duplicate key\",\"Admin,Dup,,2025-09-22 10:00:00,2025-09-22 09:00:00,Meeting\"");
+        assertThat(jobExecution.getExecutionContext().getString(ImportStatus.ERROR_FILE_KEY)).isEqualTo(file.toString());
+    }
+
+    @Test
+    void testToLine_QuotesOnlyWhereNeeded() {
+        Event event = event("Review, part \"2\"");
+
+        assertThat(ImportErrorFileListener.toLine(event))
+                .isEqualTo("Admin,\"Review, part \"\"2\"\"\",,2025-09-22 10:00:00,2025-09-22 09:00:00,Meeting");
+    }
+
+    @Test
+    void testNothingSkipped_NoFile() {
+        ImportErrorFileListener listener = new ImportErrorFileListener(dir);
+
+        assertThat(listener.errorFile(3L)).doesNotExist();
+        assertThat(jobExecution.getExecutionContext().containsKey(ImportStatus.ERROR_FILE_KEY)).isFalse();
+    }
+
+    private static Event event(String title) {
+        Event event = new Event();
+        event.setCreatedBy("Admin");
+        event.setTitle(title);
+        event.setStartTime(LocalDateTime.of(2025, 9, 22, 10, 0));
+        event.setEndTime(LocalDateTime.of(2025, 9, 22, 9, 0));
+        event.setEvent_type("Meeting");
+        return event;
+    }
+}
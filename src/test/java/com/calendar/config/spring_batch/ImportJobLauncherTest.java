@@ -0,0 +1,68 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.job.DefaultJobParametersValidator;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+public class ImportJobLauncherTest {
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final Job job = mock(Job.class);
+    private final JobParameters parameters = new JobParametersBuilder().addString("filePath", "upload.csv")
+            .toJobParameters();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(job.getName()).thenReturn("importEventJob");
+        when(job.getJobParametersValidator()).thenReturn(new DefaultJobParametersValidator());
+        when(jobRepository.createJobExecution(anyString(), any()))
+                .thenReturn(new JobExecution(new JobInstance(1L, "importEventJob"), 42L, parameters));
+    }
+
+    @Test
+    void testRejectedLaunchThrows() throws Exception {
+        ImportJobLauncher launcher = launcher(task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        assertThatThrownBy(() -> launcher.run(job, parameters))
+                .isInstanceOf(ImportQueueFullException.class)
+                .hasCauseInstanceOf(TaskRejectedException.class);
+    }
+
+    @Test
+    void testJobThatFailsOnTheWorkerIsReturned() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<JobExecution>getArgument(0).setStatus(BatchStatus.FAILED);
+            return null;
+        }).when(job).execute(any());
+        ImportJobLauncher launcher = launcher(Runnable::run);
+
+        assertThat(launcher.run(job, parameters).getStatus()).isEqualTo(BatchStatus.FAILED);
+    }
+
+    private ImportJobLauncher launcher(TaskExecutor taskExecutor) throws Exception {
+        ImportJobLauncher launcher = new ImportJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        launcher.setTaskExecutor(taskExecutor);
+        launcher.afterPropertiesSet();
+        return launcher;
+    }
+}
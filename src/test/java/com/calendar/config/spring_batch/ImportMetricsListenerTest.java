@@ -0,0 +1,46 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ImportMetricsListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ImportMetricsListener listener = new ImportMetricsListener(registry);
+
+    @Test
+    void testCommittedChunkCountsRowsPerStep() {
+        StepExecution step = new StepExecution("importEventWorkerStep:partition2", new JobExecution(1L));
+        step.setWriteCount(100);
+        ChunkContext chunk = new ChunkContext(new StepContext(step));
+
+        listener.beforeChunk(chunk);
+        step.setWriteCount(150);
+        listener.afterChunk(chunk);
+
+        assertThat(registry.get(ImportMetricsListener.ROWS_COUNTER).tag("step", "importEventWorkerStep").counter().count())
+                .isEqualTo(50);
+        assertThat(registry.get(ImportMetricsListener.CHUNK_TIMER).tags("step", "importEventWorkerStep", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailedChunkIsTimedButNotCounted() {
+        StepExecution step = new StepExecution("importEventStep", new JobExecution(1L));
+        ChunkContext chunk = new ChunkContext(new StepContext(step));
+
+        listener.beforeChunk(chunk);
+        listener.afterChunkError(chunk);
+
+        assertThat(registry.get(ImportMetricsListener.CHUNK_TIMER).tags("step", "importEventStep", "outcome", "failure")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.find(ImportMetricsListener.ROWS_COUNTER).counter()).isNull();
+    }
+}
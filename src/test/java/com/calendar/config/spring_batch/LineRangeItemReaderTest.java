@@ -0,0 +1,65 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+public class LineRangeItemReaderTest {
+
+    private static final String CSV = """
+            Admin,Standup,,2025-09-22 09:00:00,2025-09-22 09:15:00,Meeting
+            Admin,Review,,2025-09-22 10:00:00,2025-09-22 11:00:00,Meeting
+
+            Admin,Lunch,,2025-09-22 12:00:00,2025-09-22 13:00:00,Personal
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRestart_SeeksPastCommittedLines() throws Exception {
+        Path file = write(CSV);
+        ExecutionContext context = new ExecutionContext();
+
+        LineRangeItemReader first = reader(file);
+        first.open(context);
+        assertThat(first.read().getTitle()).isEqualTo("Standup");
+        first.update(context);
+        first.close();
+
+        LineRangeItemReader restarted = reader(file);
+        restarted.open(context);
+        assertThat(restarted.read().getTitle()).isEqualTo("Review");
+        assertThat(restarted.read().getTitle()).isEqualTo("Lunch");
+        assertThat(restarted.read()).isNull();
+        restarted.close();
+    }
+
+    @Test
+    void testUnparseableLine_ReportsTheLine() throws Exception {
+        Path file = write("Admin,Broken,2025-09-22 09:00:00\n");
+        LineRangeItemReader reader = reader(file);
+        reader.open(new ExecutionContext());
+
+        assertThatThrownBy(reader::read)
+                .isInstanceOfSatisfying(FlatFileParseException.class,
+                        e -> assertThat(e.getInput()).isEqualTo("Admin,Broken,2025-09-22 09:00:00"));
+        reader.close();
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(dir.resolve("events.csv"), content, StandardCharsets.UTF_8);
+    }
+
+    private static LineRangeItemReader reader(Path file) throws Exception {
+        return new LineRangeItemReader(file, 0, Files.size(file), new EventLineParser());
+    }
+}
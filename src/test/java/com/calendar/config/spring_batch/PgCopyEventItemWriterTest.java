@@ -0,0 +1,29 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.calendar.domain.Event;
+
+public class PgCopyEventItemWriterTest {
+
+    @Test
+    void testAppendRow_QuotesValuesAndLeavesNullsEmpty() {
+        Event event = new Event();
+        event.setCreatedBy("媽媽");
+        event.setTitle("Say \"hi\", then leave");
+        event.setDescription(null);
+        event.setStartTime(LocalDateTime.of(2025, 9, 22, 10, 0));
+        event.setEndTime(LocalDateTime.of(2025, 9, 22, 11, 30, 15));
+        event.setEvent_type("");
+
+        StringBuilder csv = new StringBuilder();
+        PgCopyEventItemWriter.appendRow(csv, event, LocalDateTime.of(2025, 9, 1, 8, 0, 0, 123_456_000));
+
+        assertThat(csv.toString()).isEqualTo(
+                "\"媽媽\",\"Say \"\"hi\"\", then leave\",,\"2025-09-22T10:00:00\",\"2025-09-22T11:30:15\",\"\",\"2025-09-01T08:00:00.123456\"\n");
+    }
+}
@@ -0,0 +1,64 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+
+import com.calendar.service.ImportStagingService;
+
+public class StagedFileCleanupListenerTest {
+
+    @TempDir
+    Path dir;
+
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final JobInstance instance = new JobInstance(1L, "importEventJob");
+    private StagedFileCleanupListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new StagedFileCleanupListener(new ImportStagingService(dir), jobExplorer);
+    }
+
+    @Test
+    void testCompletedRestartReleasesTheFileOfTheFailedRun() throws Exception {
+        Path failedFile = Files.writeString(dir.resolve("upload-1.csv"), "content");
+        Path restartFile = Files.writeString(dir.resolve("upload-2.csv"), "content");
+        JobExecution failed = jobExecution(10L, failedFile, BatchStatus.FAILED);
+        JobExecution restart = jobExecution(11L, restartFile, BatchStatus.COMPLETED);
+        when(jobExplorer.getJobExecutions(instance)).thenReturn(List.of(restart, failed));
+
+        listener.afterJob(restart);
+
+        assertThat(dir).isEmptyDirectory();
+    }
+
+    @Test
+    void testFailedRunKeepsItsFile() throws Exception {
+        Path file = Files.writeString(dir.resolve("upload-1.csv"), "content");
+
+        listener.afterJob(jobExecution(10L, file, BatchStatus.FAILED));
+
+        assertThat(file).exists();
+    }
+
+    private JobExecution jobExecution(Long id, Path filePath, BatchStatus status) {
+        JobExecution execution = new JobExecution(instance, id,
+                new JobParametersBuilder().addString("filePath", filePath.toString(), false).toJobParameters());
+        execution.setStatus(status);
+        return execution;
+    }
+}
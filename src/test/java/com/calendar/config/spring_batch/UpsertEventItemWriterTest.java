@@ -0,0 +1,91 @@
+package com.calendar.config.spring_batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.calendar.domain.Event;
+import com.calendar.service.ImportStatus;
+
+public class UpsertEventItemWriterTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 9, 22, 9, 0);
+
+    private final DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:upsert;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final UpsertEventItemWriter writer = new UpsertEventItemWriter(dataSource, false);
+    private final StepExecution stepExecution = new StepExecution("importEventStep", new JobExecution(1L));
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS event");
+        jdbcTemplate.execute("CREATE TABLE event (id BIGINT AUTO_INCREMENT PRIMARY KEY, created_by VARCHAR(255), "
+                + "title VARCHAR(255), description VARCHAR(255), start_time TIMESTAMP, end_time TIMESTAMP, "
+                + "event_type VARCHAR(255), updated_at TIMESTAMP, content_hash VARCHAR(64))");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_event_content_hash ON event (content_hash, start_time)");
+        StepSynchronizationManager.register(stepExecution);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StepSynchronizationManager.close();
+    }
+
+    @Test
+    void testSecondImportOfSameRowsInsertsNothing() throws Exception {
+        writer.write(Chunk.of(event("alice", "Standup", "first"), event("alice", "Review", null)));
+        writer.write(Chunk.of(event("alice", "Standup", "changed description"), event("bob", "Standup", null)));
+
+        assertThat(jdbcTemplate.queryForList("SELECT title || '/' || created_by FROM event ORDER BY id", String.class))
+                .containsExactly("Standup/alice", "Review/alice", "Standup/bob");
+        assertThat(stepExecution.getExecutionContext().getLong(ImportStatus.DUPLICATE_COUNT_KEY)).isEqualTo(1);
+    }
+
+    @Test
+    void testDuplicatesInsideOneChunkAreInsertedOnce() throws Exception {
+        writer.write(Chunk.of(event("alice", "Standup", null), event("alice", "Standup", null)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event", Integer.class)).isEqualTo(1);
+        assertThat(stepExecution.getExecutionContext().getLong(ImportStatus.DUPLICATE_COUNT_KEY)).isEqualTo(1);
+    }
+
+    @Test
+    void testContentHash_IgnoresDescriptionAndSeparatesFields() {
+        assertThat(EventContentHash.of(event("alice", "Standup", "a")))
+                .hasSize(64)
+                .isEqualTo(EventContentHash.of(event("alice", "Standup", "b")));
+        assertThat(EventContentHash.of(event("alice", "Standup", null)))
+                .isNotEqualTo(EventContentHash.of(event("aliceS", "tandup", null)));
+    }
+
+    @Test
+    void testInsertOnConflictSql() {
+        assertThat(UpsertEventItemWriter.insertOnConflictSql(2)).isEqualTo("INSERT INTO event ("
+                + UpsertEventItemWriter.COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP), (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)"
+                + " ON CONFLICT (content_hash, start_time) DO NOTHING");
+    }
+
+    private static Event event(String createdBy, String title, String description) {
+        Event event = new Event();
+        event.setCreatedBy(createdBy);
+        event.setTitle(title);
+        event.setDescription(description);
+        event.setStartTime(NINE);
+        event.setEndTime(NINE.plusHours(1));
+        event.setEvent_type("MEETING");
+        event.setContentHash(EventContentHash.of(event));
+        return event;
+    }
+}
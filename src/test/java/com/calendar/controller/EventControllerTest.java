@@ -1,34 +1,60 @@
 package com.calendar.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.domain.EventSummary;
+import com.calendar.domain.EventVersion;
+import com.calendar.service.EventBulkRequest;
+import com.calendar.service.EventBulkResult;
+import com.calendar.service.EventBulkService;
+import com.calendar.service.EventChangeService;
+import com.calendar.service.EventChanges;
+import com.calendar.service.EventConflictException;
+import com.calendar.service.EventPage;
+import com.calendar.service.EventPatch;
 import com.calendar.service.EventService;
+import com.calendar.service.EventStreamService;
+import com.calendar.service.FreeBusy;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(EventController.class)
@@ -42,6 +68,17 @@ public class EventControllerTest {
     @MockitoBean
     private EventService eventService;
 
+    @MockitoBean
+    private EventBulkService eventBulkService;
+
+    @MockitoBean
+    private EventChangeService eventChangeService;
+
+    @MockitoBean
+    private EventStreamService eventStreamService;
+
+    private static final EventVersion VERSION = new EventVersion(3, LocalDateTime.of(2025, 9, 22, 9, 0, 0, 500_000));
+
     private Event testEvent;
 	@BeforeEach
 	void setUp() {
@@ -53,20 +90,105 @@ public class EventControllerTest {
 		testEvent.setStartTime(LocalDateTime.of(2025, 9, 22, 10, 0));
 		testEvent.setEndTime(LocalDateTime.of(2025, 9, 22, 11, 0));
 		testEvent.setEvent_type("Meeting");
+
+		when(eventService.getVersion()).thenReturn(VERSION);
+		when(eventService.getVersion(anyLong())).thenReturn(VERSION);
+		when(eventService.getVersion(any(LocalDate.class), any(LocalDate.class))).thenReturn(VERSION);
+		when(eventService.getVersion(anyString(), any(LocalDate.class), any(LocalDate.class))).thenReturn(VERSION);
 	}
 
 	@Test
 	void testGetAllEvents_Success() throws Exception {
-		when(eventService.findAll())
-				.thenReturn(List.of(testEvent));
+		streamEvents(testEvent);
 
 		mockMvc.perform(get("/events")
 				.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
 				.andExpect(jsonPath("$[0].id").value(1))
 				.andExpect(jsonPath("$[0].title").value("Test Event"));
 
-		verify(eventService, times(1)).findAll();
+		verify(eventService, times(1)).streamAll(any());
+	}
+
+	@Test
+	void testGetAllEvents_Ndjson() throws Exception {
+		Event second = new Event();
+		second.setId(2L);
+		second.setTitle("Second Event");
+		streamEvents(testEvent, second);
+
+		String body = mockMvc.perform(get("/events")
+				.accept("application/x-ndjson"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+
+		String[] lines = body.strip().split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(objectMapper.readValue(lines[1], Event.class).getTitle())
+				.isEqualTo("Second Event");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testGetAllEvents_Summary() throws Exception {
+		testEvent.setDescription("Long description");
+		doAnswer(invocation -> {
+			Consumer<EventSummary> consumer = invocation.getArgument(0);
+			consumer.accept(EventSummary.of(testEvent));
+			return null;
+		}).when(eventService).streamAllSummaries(any(Consumer.class));
+
+		mockMvc.perform(get("/events").param("fields", "summary"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(1))
+				.andExpect(jsonPath("$[0].title").value("Test Event"))
+				.andExpect(jsonPath("$[0].event_type").value("Meeting"))
+				.andExpect(jsonPath("$[0].description").doesNotExist());
+
+		verify(eventService, never()).streamAll(any());
+	}
+
+	@Test
+	void testGetAllEvents_InvalidFields() throws Exception {
+		mockMvc.perform(get("/events").param("fields", "title"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("fields must be all or summary"));
+
+		verify(eventService, never()).streamAll(any());
+	}
+
+	@Test
+	void testGetEventPage_Success() throws Exception {
+		when(eventService.findPage(null, 1))
+				.thenReturn(new EventPage(List.of(testEvent), "next-token"));
+
+		mockMvc.perform(get("/events/page").param("limit", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.events[0].id").value(1))
+				.andExpect(jsonPath("$.nextCursor").value("next-token"));
+	}
+
+	@Test
+	void testGetEventPage_InvalidCursor() throws Exception {
+		when(eventService.findPage("bogus", 100))
+				.thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+		mockMvc.perform(get("/events/page").param("cursor", "bogus"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Invalid cursor"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void streamEvents(Event... events) {
+		doAnswer(invocation -> {
+			Consumer<Event> consumer = invocation.getArgument(0);
+			for (Event event : events) {
+				consumer.accept(event);
+			}
+			return null;
+		}).when(eventService).streamAll(any(Consumer.class));
 	}
 
     @Test
@@ -85,6 +207,19 @@ public class EventControllerTest {
 	}
 
 
+	@Test
+	void testCreateEvent_Conflict() throws Exception {
+		when(eventService.save(any(Event.class))).thenThrow(new EventConflictException(List.of(7L, 9L)));
+
+		mockMvc.perform(post("/events")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(testEvent)))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value("Event overlaps 2 other events of the same user"))
+				.andExpect(jsonPath("$.conflicts[0]").value(7))
+				.andExpect(jsonPath("$.conflicts[1]").value(9));
+	}
+
 	@Test
 	void testCreateEvent_NoCreatedBy() throws Exception {
 		Event eventNoCreatedBy = new Event();
@@ -99,6 +234,75 @@ public class EventControllerTest {
 		verify(eventService, times(0)).save(any(Event.class));
 	}
 
+	@Test
+	void testBulk_ReturnsPerItemResults() throws Exception {
+		when(eventBulkService.apply(any(EventBulkRequest.class))).thenReturn(new EventBulkResult(List.of(
+				new EventBulkResult.Item(EventBulkResult.Operation.CREATE, 0, 7L, EventBulkResult.Status.OK, null),
+				new EventBulkResult.Item(EventBulkResult.Operation.DELETE, 0, 99L, EventBulkResult.Status.NOT_FOUND,
+						"Event not found")), 1, 1));
+
+		mockMvc.perform(post("/events/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new EventBulkRequest(List.of(testEvent), null, List.of(99L)))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results[0].id").value(7))
+				.andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"))
+				.andExpect(jsonPath("$.failed").value(1));
+
+		verify(eventBulkService).apply(argThat(bulk -> bulk.create().size() == 1 && bulk.update().isEmpty()
+				&& bulk.delete().equals(List.of(99L))));
+	}
+
+	@Test
+	void testBulk_TooManyItems() throws Exception {
+		when(eventBulkService.apply(any(EventBulkRequest.class)))
+				.thenThrow(new IllegalArgumentException("At most 10000 items are allowed per request"));
+
+		mockMvc.perform(post("/events/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"delete\":[1]}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("At most 10000 items are allowed per request"));
+	}
+
+	@Test
+	void testGetEvent_NotModified() throws Exception {
+		mockMvc.perform(get("/events/1")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION.etag() + "\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION.etag() + "\""));
+
+		verify(eventService, never()).findById(any());
+	}
+
+	@Test
+	void testGetAllEvents_NotModifiedPerRepresentation() throws Exception {
+		streamEvents(testEvent);
+
+		String etag = mockMvc.perform(get("/events"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/events").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/events").header(HttpHeaders.IF_NONE_MATCH, etag)
+				.accept(EventController.APPLICATION_NDJSON_VALUE))
+				.andExpect(status().isOk());
+
+		verify(eventService, times(2)).streamAll(any());
+	}
+
+	@Test
+	void testSearchByDateRange_NotModified() throws Exception {
+		mockMvc.perform(get("/events/search")
+				.param("startDate", "2025-09-20")
+				.param("endDate", "2025-09-25")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION.etag() + "\""))
+				.andExpect(status().isNotModified());
+
+		verify(eventService, never()).searchEventsByDateRange(any(LocalDate.class), any(LocalDate.class));
+	}
+
 	@Test
 	void testGetEvent_Success() throws Exception {
 		when(eventService.findById(1L))
@@ -131,6 +335,43 @@ public class EventControllerTest {
 		verify(eventService, times(1)).updateEvent(eq(1L), any(Event.class));
 	}
 
+	@Test
+	void testPatchEvent_Success() throws Exception {
+		when(eventService.updateEvent(eq(1L), any(EventPatch.class))).thenReturn(testEvent);
+
+		mockMvc.perform(patch("/events/1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"version\":3,\"title\":\"Test Event\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.title").value("Test Event"));
+
+		verify(eventService).updateEvent(1L,
+				new EventPatch(3L, "Test Event", null, null, null, null, null, null));
+	}
+
+	@Test
+	void testPatchEvent_Conflict() throws Exception {
+		when(eventService.updateEvent(eq(1L), any(EventPatch.class)))
+				.thenThrow(new OptimisticLockingFailureException("Event 1 was modified concurrently; current version is 4"));
+
+		mockMvc.perform(patch("/events/1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"version\":3,\"title\":\"Stale\"}"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value("Event 1 was modified concurrently; current version is 4"));
+	}
+
+	@Test
+	void testPatchEvent_VersionRequired() throws Exception {
+		mockMvc.perform(patch("/events/1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"No version\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("version is required"));
+
+		verify(eventService, never()).updateEvent(anyLong(), any(EventPatch.class));
+	}
+
 	@Test
 	void testDeleteEvent_Success() throws Exception {
 		doNothing().when(eventService).deleteById(1L);
@@ -187,6 +428,42 @@ public class EventControllerTest {
 				LocalDate.of(2025, 9, 25));
 	}
 
+	@Test
+	void testSearchByDateRange_ForUser() throws Exception {
+		when(eventService.searchEventsByDateRange("TestUser",
+				LocalDate.of(2025, 9, 20),
+				LocalDate.of(2025, 9, 25)))
+				.thenReturn(List.of(testEvent));
+
+		mockMvc.perform(get("/events/search")
+				.param("startDate", "2025-09-20")
+				.param("endDate", "2025-09-25")
+				.param("createdBy", "TestUser"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(1));
+
+		verify(eventService, times(0)).searchEventsByDateRange(any(LocalDate.class), any(LocalDate.class));
+	}
+
+	@Test
+	void testSearchByDateRange_Summary() throws Exception {
+		when(eventService.searchSummariesByDateRange("TestUser",
+				LocalDate.of(2025, 9, 20),
+				LocalDate.of(2025, 9, 25)))
+				.thenReturn(List.of(EventSummary.of(testEvent)));
+
+		mockMvc.perform(get("/events/search")
+				.param("startDate", "2025-09-20")
+				.param("endDate", "2025-09-25")
+				.param("createdBy", "TestUser")
+				.param("fields", "summary"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(1))
+				.andExpect(jsonPath("$[0].createdBy").doesNotExist());
+
+		verify(eventService, never()).searchEventsByDateRange(anyString(), any(LocalDate.class), any(LocalDate.class));
+	}
+
 	@Test
 	void testSearchByDateRange_InvalidDateRange() throws Exception {
 		when(eventService.searchEventsByDateRange(
@@ -224,4 +501,72 @@ public class EventControllerTest {
 				LocalDate.of(2025, 9, 20),
 				LocalDate.of(2025, 9, 25));
 	}
-}
+
+	@Test
+	void testGetFreeBusy() throws Exception {
+		LocalDateTime from = LocalDateTime.of(2025, 9, 22, 8, 0);
+		LocalDateTime to = LocalDateTime.of(2025, 9, 22, 12, 0);
+		FreeBusy freeBusy = new FreeBusy(from, to,
+				List.of(new FreeBusy.Interval(from.plusHours(2), from.plusHours(3))),
+				List.of(new FreeBusy.Interval(from, from.plusHours(2)), new FreeBusy.Interval(from.plusHours(3), to)));
+		when(eventService.findFreeBusy(List.of("爸爸", "媽媽"), from, to)).thenReturn(freeBusy);
+
+		mockMvc.perform(get("/events/freebusy")
+				.param("users", "爸爸,媽媽")
+				.param("from", "2025-09-22T08:00:00")
+				.param("to", "2025-09-22T12:00:00"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.busy[0].start").value("2025-09-22T10:00:00"))
+				.andExpect(jsonPath("$.free.length()").value(2));
+	}
+
+	@Test
+	void testGetFreeBusy_InvalidWindow() throws Exception {
+		when(eventService.findFreeBusy(any(), any(), any()))
+				.thenThrow(new IllegalArgumentException("from must be before to"));
+
+		mockMvc.perform(get("/events/freebusy")
+				.param("users", "爸爸")
+				.param("from", "2025-09-22T12:00:00")
+				.param("to", "2025-09-22T08:00:00"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("from must be before to"));
+	}
+
+	@Test
+	void testGetChanges() throws Exception {
+		when(eventChangeService.findChanges("abc", null, 500)).thenReturn(new EventChanges(List.of(
+				new EventChanges.Entry(EventChange.Type.UPDATED, 1L, testEvent),
+				new EventChanges.Entry(EventChange.Type.DELETED, 2L, null)), "next", false));
+
+		mockMvc.perform(get("/events/changes").param("since", "abc"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.changes[0].type").value("UPDATED"))
+				.andExpect(jsonPath("$.changes[0].event.title").value("Test Event"))
+				.andExpect(jsonPath("$.changes[1].eventId").value(2))
+				.andExpect(jsonPath("$.nextToken").value("next"));
+	}
+
+	@Test
+	void testGetChanges_InvalidToken() throws Exception {
+		when(eventChangeService.findChanges("bogus", null, 500))
+				.thenThrow(new IllegalArgumentException("Invalid token"));
+
+		mockMvc.perform(get("/events/changes").param("since", "bogus"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Invalid token"));
+	}
+
+	@Test
+	void testStream_SubscribesWithFilters() throws Exception {
+		when(eventStreamService.subscribe(any(), any(), any())).thenReturn(new SseEmitter());
+
+		mockMvc.perform(get("/events/stream")
+				.param("createdBy", "TestUser")
+				.param("from", "2025-09-22T00:00:00")
+				.accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted());
+
+		verify(eventStreamService).subscribe("TestUser", LocalDateTime.of(2025, 9, 22, 0, 0), null);
+	}
+}
\ No newline at end of file
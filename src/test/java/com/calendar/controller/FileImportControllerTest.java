@@ -1,24 +1,50 @@
 package com.calendar.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.calendar.config.spring_batch.CalendarImportGateway;
+import com.calendar.config.spring_batch.ImportQueueFullException;
+import com.calendar.service.ImportStagingService;
+import com.calendar.service.ImportStatus;
+import com.calendar.service.ImportStatusService;
 
 @WebMvcTest(FileImportController.class)
+@Import(ImportStagingService.class)
 public class FileImportControllerTest {
 
     @Autowired
@@ -27,17 +53,187 @@ public class FileImportControllerTest {
     @MockitoBean
     private CalendarImportGateway calendarImportGateway;
 
+    @MockitoBean
+    private ImportStatusService importStatusService;
+
     @Test
     public void testImportEventsSuccess() throws Exception {
         MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", "content".getBytes());
+        when(calendarImportGateway.importEvents(anyString())).thenAnswer(launched(42L, BatchStatus.STARTING));
 
         mockMvc.perform(multipart("/import/events").file(file))
-                .andExpect(status().isOk())
-                .andExpect(content().string("File imported successfully"));
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/import/events/42"))
+                .andExpect(jsonPath("$.jobExecutionId").value(42))
+                .andExpect(jsonPath("$.status").value("STARTING"));
+
+        verify(calendarImportGateway).importEvents(anyString());
+    }
+
+    @Test
+    public void testImportEventStreamSuccess() throws Exception {
+        when(calendarImportGateway.importEvents(anyString())).thenAnswer(launched(44L, BatchStatus.STARTING));
+
+        mockMvc.perform(post("/import/events")
+                .contentType("text/csv")
+                .content("createdBy,title,description,startTime,endTime,event_type\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobExecutionId").value(44));
 
         verify(calendarImportGateway).importEvents(anyString());
     }
 
+    @Test
+    public void testImportEventsAlreadyImported() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", "content".getBytes());
+        when(calendarImportGateway.importEvents(anyString()))
+                .thenReturn(jobExecution(40L, BatchStatus.COMPLETED, "/staging/upload-earlier.csv"));
+
+        mockMvc.perform(multipart("/import/events").file(file))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Location", "/import/events/40"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    public void testImportEventsQueueFull() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", "content".getBytes());
+        when(calendarImportGateway.importEvents(anyString()))
+                .thenThrow(new ImportQueueFullException("Import queue is full", null));
+
+        mockMvc.perform(multipart("/import/events").file(file))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("Import queue is full, try again later"));
+
+        assertThat(Path.of(stagedFile())).doesNotExist();
+    }
+
+    @Test
+    public void testImportEventsFailedQuicklyKeepsTheStagedFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", "content".getBytes());
+        when(calendarImportGateway.importEvents(anyString())).thenAnswer(launched(43L, BatchStatus.FAILED));
+
+        mockMvc.perform(multipart("/import/events").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("FAILED"));
+
+        Path staged = Path.of(stagedFile());
+        assertThat(staged).hasContent("content");
+        Files.delete(staged);
+    }
+
+    @Test
+    public void testImportEventsLaunchFailure() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", "content".getBytes());
+        when(calendarImportGateway.importEvents(anyString())).thenThrow(new IllegalStateException("Failed to launch importEventJob"));
+
+        mockMvc.perform(multipart("/import/events").file(file))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string("Failed to import file: Failed to launch importEventJob"));
+    }
+
+    @Test
+    public void testGetImportStatus() throws Exception {
+        ImportStatus importStatus = new ImportStatus(42L, "COMPLETED", "COMPLETED", "", 1000, 998, 2, 0, 0,
+                LocalDateTime.of(2025, 9, 22, 10, 0), LocalDateTime.of(2025, 9, 22, 10, 0, 2), 499.0, 0, List.of());
+        when(importStatusService.findStatus(42L)).thenReturn(Optional.of(importStatus));
+
+        mockMvc.perform(get("/import/events/42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.writeCount").value(998))
+                .andExpect(jsonPath("$.skipCount").value(2))
+                .andExpect(jsonPath("$.rowsPerSecond").value(499.0));
+    }
+
+    @Test
+    public void testGetImportStatusNotFound() throws Exception {
+        when(importStatusService.findStatus(7L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/import/events/7"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testRestartImport() throws Exception {
+        when(importStatusService.findStatus(42L)).thenReturn(Optional.of(importStatus(42L, "FAILED")));
+        when(calendarImportGateway.restartImport(42L))
+                .thenReturn(jobExecution(43L, BatchStatus.STARTING, "/tmp/calendar-import/upload.csv"));
+
+        mockMvc.perform(post("/import/events/42/restart"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/import/events/43"))
+                .andExpect(jsonPath("$.jobExecutionId").value(43));
+    }
+
+    @Test
+    public void testRestartImportQueueFull() throws Exception {
+        when(importStatusService.findStatus(42L)).thenReturn(Optional.of(importStatus(42L, "FAILED")));
+        when(calendarImportGateway.restartImport(42L))
+                .thenThrow(new ImportQueueFullException("Import queue is full", null));
+
+        mockMvc.perform(post("/import/events/42/restart"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void testRestartImportNotRestartable() throws Exception {
+        when(importStatusService.findStatus(42L)).thenReturn(Optional.of(importStatus(42L, "COMPLETED")));
+
+        mockMvc.perform(post("/import/events/42/restart"))
+                .andExpect(status().isConflict());
+
+        verify(calendarImportGateway, never()).restartImport(anyLong());
+    }
+
+    @Test
+    public void testRestartImportNotFound() throws Exception {
+        when(importStatusService.findStatus(7L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/import/events/7/restart"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testGetImportErrors(@TempDir Path dir) throws Exception {
+        Path errors = Files.writeString(dir.resolve("import-1-errors.csv"), "error,input\n\"bad\",\"Admin\"\n");
+        when(importStatusService.findErrorFile(42L)).thenReturn(Optional.of(errors));
+
+        mockMvc.perform(get("/import/events/42/errors"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("error,input\n\"bad\",\"Admin\"\n"));
+    }
+
+    @Test
+    public void testGetImportErrorsNotFound() throws Exception {
+        when(importStatusService.findErrorFile(42L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/import/events/42/errors"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String stagedFile() {
+        ArgumentCaptor<String> filePath = ArgumentCaptor.forClass(String.class);
+        verify(calendarImportGateway).importEvents(filePath.capture());
+        return filePath.getValue();
+    }
+
+    private static ImportStatus importStatus(Long id, String status) {
+        return new ImportStatus(id, status, status, "", 1000, 500, 0, 0, 0,
+                LocalDateTime.of(2025, 9, 22, 10, 0), LocalDateTime.of(2025, 9, 22, 10, 0, 2), 250.0, 0, List.of());
+    }
+
+    private static JobExecution jobExecution(Long id, BatchStatus status, String filePath) {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "importEventJob"), id,
+                new JobParametersBuilder().addString("filePath", filePath).toJobParameters());
+        execution.setStatus(status);
+        return execution;
+    }
+
+    /** A new execution of the staged file the controller passed to the gateway. */
+    private static Answer<JobExecution> launched(Long id, BatchStatus status) {
+        return invocation -> jobExecution(id, status, invocation.getArgument(0));
+    }
+
     @Test
     public void testImportEventsFailure() throws Exception {
         FailingMockMultipartFile file = new FailingMockMultipartFile("file", "test.csv", "text/csv", "content".getBytes());
@@ -0,0 +1,85 @@
+package com.calendar.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Seeds the event table and checks the planner answers the per-user overlap
+ * query from idx_event_created_by_start_end instead of scanning the table.
+ * Run with -Dcalendar.plan-test.rows=1000000 for the full-size dataset.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+	"spring.datasource.url=jdbc:h2:mem:plantest",
+	"spring.datasource.driverClassName=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class EventRangeQueryPlanTest {
+
+	private static final int ROWS = Integer.getInteger("calendar.plan-test.rows", 20_000);
+	private static final String[] USERS = {"爸爸", "媽媽", "哥哥", "妹妹", "admin"};
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seed() {
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		LocalDateTime base = LocalDateTime.of(2020, 1, 1, 8, 0);
+		int batchSize = 5_000;
+		for (int offset = 0; offset < ROWS; offset += batchSize) {
+			int from = offset;
+			int to = Math.min(ROWS, offset + batchSize);
+			jdbcTemplate.batchUpdate(
+					"INSERT INTO event (created_by, title, start_time, end_time) VALUES (?, ?, ?, ?)",
+					new BatchPreparedStatementSetter() {
+						@Override
+						public void setValues(PreparedStatement ps, int i) throws SQLException {
+							int n = from + i;
+							LocalDateTime start = base.plusHours(n);
+							ps.setString(1, USERS[n % USERS.length]);
+							ps.setString(2, "Event " + n);
+							ps.setTimestamp(3, Timestamp.valueOf(start));
+							ps.setTimestamp(4, Timestamp.valueOf(start.plusMinutes(90)));
+						}
+
+						@Override
+						public int getBatchSize() {
+							return to - from;
+						}
+					});
+		}
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@Test
+	void testOverlapQueryUsesCompositeIndex() {
+		String plan = jdbcTemplate.queryForObject(
+				"EXPLAIN SELECT * FROM event WHERE created_by = '媽媽' "
+						+ "AND start_time < TIMESTAMP '2020-03-01 00:00:00' "
+						+ "AND end_time > TIMESTAMP '2020-02-01 00:00:00' ORDER BY start_time",
+				String.class);
+
+		assertThat(plan).containsIgnoringCase("IDX_EVENT_CREATED_BY_START_END");
+		assertThat(plan).doesNotContainIgnoringCase("tableScan");
+	}
+}
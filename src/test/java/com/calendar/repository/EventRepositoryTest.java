@@ -1,14 +1,17 @@
 package com.calendar.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.TestPropertySource;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.calendar.domain.Event;
+import com.calendar.domain.EventSummary;
 
 @DataJpaTest
 @TestPropertySource(properties = {
@@ -82,4 +85,140 @@ public class EventRepositoryTest {
 
 		assertThat(repository.findById(id)).isEmpty();
 	}
+
+	@Test
+	void testKeysetPaging() {
+		LocalDateTime sameStart = LocalDateTime.of(2025, 9, 22, 10, 0);
+		for (int i = 0; i < 5; i++) {
+			Event event = new Event();
+			event.setTitle("Event " + i);
+			event.setCreatedBy("User");
+			event.setStartTime(i < 3 ? sameStart : sameStart.plusHours(i));
+			event.setEndTime(sameStart.plusHours(i + 1));
+			repository.save(event);
+		}
+
+		List<Event> first = repository.findFirstPage(Limit.of(2));
+		Event last = first.get(1);
+		List<Event> second = repository.findPageAfter(last.getStartTime(), last.getId(), Limit.of(2));
+		Event lastOfSecond = second.get(1);
+		List<Event> third = repository.findPageAfter(lastOfSecond.getStartTime(), lastOfSecond.getId(), Limit.of(2));
+
+		assertThat(first).extracting(Event::getTitle).containsExactly("Event 0", "Event 1");
+		assertThat(second).extracting(Event::getTitle).containsExactly("Event 2", "Event 3");
+		assertThat(third).extracting(Event::getTitle).containsExactly("Event 4");
+	}
+
+	@Test
+	void testFindEventsInRange_ReturnsOverlappingEvents() {
+		LocalDateTime windowStart = LocalDateTime.of(2025, 9, 22, 0, 0);
+		LocalDateTime windowEnd = LocalDateTime.of(2025, 9, 23, 0, 0);
+
+		repository.save(event("Still running", "User", windowStart.minusDays(1), windowStart.plusHours(2)));
+		repository.save(event("Inside", "User", windowStart.plusHours(9), windowStart.plusHours(10)));
+		repository.save(event("Ended at window start", "User", windowStart.minusHours(1), windowStart));
+		repository.save(event("Starts at window end", "User", windowEnd, windowEnd.plusHours(1)));
+		repository.save(event("Other user", "Someone", windowStart.plusHours(9), windowStart.plusHours(10)));
+
+		assertThat(repository.findEventsInRange("User", windowStart, windowEnd, windowStart.minusDays(31)))
+				.extracting(Event::getTitle)
+				.containsExactly("Still running", "Inside");
+		assertThat(repository.findEventsByDateRange(windowStart, windowEnd, windowStart.minusDays(31)))
+				.extracting(Event::getTitle)
+				.containsExactlyInAnyOrder("Still running", "Inside", "Other user");
+		assertThat(repository.findEventsInRange("User", windowStart, windowEnd, windowStart))
+				.extracting(Event::getTitle)
+				.containsExactly("Inside");
+		assertThat(repository.findSummariesInRange("User", windowStart, windowEnd, windowStart.minusDays(31)))
+				.extracting(EventSummary::title)
+				.containsExactly("Still running", "Inside");
+		assertThat(repository.findSummariesByDateRange(windowStart, windowEnd, windowStart.minusDays(31)))
+				.extracting(EventSummary::title)
+				.containsExactlyInAnyOrder("Still running", "Inside", "Other user");
+	}
+
+	@Test
+	void testFindSeriesInRange_SkipsFinishedSeries() {
+		LocalDateTime windowStart = LocalDateTime.of(2025, 9, 22, 0, 0);
+		LocalDateTime windowEnd = LocalDateTime.of(2025, 9, 23, 0, 0);
+
+		Event unbounded = event("Unbounded", "User", windowStart.minusDays(30), windowStart.minusDays(30).plusHours(1));
+		unbounded.setRecurrenceRule("FREQ=DAILY;INTERVAL=1");
+		Event finished = event("Finished", "User", windowStart.minusDays(30), windowStart.minusDays(30).plusHours(1));
+		finished.setRecurrenceRule("FREQ=DAILY;INTERVAL=1;COUNT=3");
+		finished.setRecurrenceEnd(windowStart.minusDays(28).plusHours(1));
+		finished.setRecurrenceExceptions(List.of(windowStart.minusDays(29)));
+		repository.save(unbounded);
+		repository.save(finished);
+
+		assertThat(repository.findSeriesInRange("User", windowStart, windowEnd))
+				.extracting(Event::getTitle)
+				.containsExactly("Unbounded");
+		assertThat(repository.findEventsInRange("User", windowStart, windowEnd, windowStart.minusDays(31))).isEmpty();
+	}
+
+	@Test
+	void testFindOverlappingIds_ExcludesItselfTouchingEventsAndSeries() {
+		LocalDateTime start = LocalDateTime.of(2025, 9, 22, 10, 0);
+		Event self = repository.save(event("Self", "User", start, start.plusHours(1)));
+		Event overlapping = repository.save(event("Overlapping", "User", start.plusMinutes(30), start.plusHours(2)));
+		repository.save(event("Touching", "User", start.plusHours(1), start.plusHours(2)));
+		repository.save(event("Other user", "Someone", start, start.plusHours(1)));
+		Event series = event("Series", "User", start, start.plusHours(1));
+		series.setRecurrenceRule("FREQ=DAILY;INTERVAL=1");
+		repository.save(series);
+
+		assertThat(repository.findOverlappingIds("User", start, start.plusHours(1), start.minusDays(31), self.getId(),
+				Limit.of(20)))
+				.containsExactly(overlapping.getId());
+		assertThat(repository.findOverlappingIds("User", start, start.plusHours(1), start.minusDays(31), null,
+				Limit.of(20)))
+				.containsExactly(self.getId(), overlapping.getId());
+	}
+
+	@Test
+	void testPatch_KeepsNullFieldsAndChecksVersion() {
+		LocalDateTime start = LocalDateTime.of(2025, 9, 22, 10, 0);
+		Event saved = repository.saveAndFlush(event("Original", "User", start, start.plusHours(1)));
+		saved.setDescription("Kept");
+		saved = repository.saveAndFlush(saved);
+		long version = saved.getVersion();
+
+		int updated = repository.patch(saved.getId(), version, "Renamed", null, null, start.plusHours(2), null);
+		int stale = repository.patch(saved.getId(), version, "Lost", null, null, null, null);
+		int backwards = repository.patch(saved.getId(), null, null, null, start.plusHours(3), null, null);
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(stale).isZero();
+		assertThat(backwards).isZero();
+		Event patched = repository.findById(saved.getId()).orElseThrow();
+		assertThat(patched.getTitle()).isEqualTo("Renamed");
+		assertThat(patched.getDescription()).isEqualTo("Kept");
+		assertThat(patched.getEndTime()).isEqualTo(start.plusHours(2));
+		assertThat(patched.getVersion()).isEqualTo(version + 1);
+	}
+
+	@Test
+	void testUpdatedAt_StampedByTheDatabase() {
+		LocalDateTime start = LocalDateTime.of(2025, 9, 22, 10, 0);
+		Event event = event("Original", "User", start, start.plusHours(1));
+		event.setUpdatedAt(LocalDateTime.of(2000, 1, 1, 0, 0));
+
+		Event saved = repository.saveAndFlush(event);
+		LocalDateTime created = saved.getUpdatedAt();
+		repository.patch(saved.getId(), null, "Renamed", null, null, null, null);
+
+		// the application clock is ignored, so instances with skewed clocks cannot move the ETag backwards
+		assertThat(created).isAfter(LocalDateTime.of(2000, 1, 1, 0, 0));
+		assertThat(repository.findById(saved.getId()).orElseThrow().getUpdatedAt()).isAfterOrEqualTo(created);
+	}
+
+	private static Event event(String title, String createdBy, LocalDateTime start, LocalDateTime end) {
+		Event event = new Event();
+		event.setTitle(title);
+		event.setCreatedBy(createdBy);
+		event.setStartTime(start);
+		event.setEndTime(end);
+		return event;
+	}
 }
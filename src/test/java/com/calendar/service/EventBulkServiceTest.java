@@ -0,0 +1,210 @@
+package com.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.repository.EventChangeRepository;
+import com.calendar.repository.EventRepository;
+import com.calendar.service.EventBulkResult.Status;
+
+@DataJpaTest
+@Import({ EventBulkService.class, EventPartitionService.class, EventConflictService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+	"spring.datasource.url=jdbc:h2:mem:bulktestdb",
+	"spring.datasource.driverClassName=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"calendar.bulk.chunk-size=2"
+})
+public class EventBulkServiceTest {
+
+	@Autowired
+	private EventBulkService bulkService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private EventChangeRepository changeRepository;
+
+	@Autowired
+	private EventPartitionService partitionService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockitoBean
+	private EventRangeCache rangeCache;
+
+	@MockitoBean
+	private EventStreamService streamService;
+
+	@AfterEach
+	void tearDown() {
+		changeRepository.deleteAll();
+		eventRepository.deleteAll();
+	}
+
+	@Test
+	void testApply_CreatesUpdatesAndDeletes() {
+		Event kept = eventRepository.save(event("Kept"));
+		Event removed = eventRepository.save(event("Removed"));
+		Event update = event("Kept, renamed");
+		update.setId(kept.getId());
+		update.setCreatedBy("Someone else");
+
+		EventBulkResult result = bulkService.apply(
+				new EventBulkRequest(List.of(event("New")), List.of(update), List.of(removed.getId())));
+
+		assertThat(result.results()).extracting(EventBulkResult.Item::status).containsOnly(Status.OK);
+		assertThat(result.succeeded()).isEqualTo(3);
+		Long createdId = result.results().get(0).id();
+		assertThat(eventRepository.findById(createdId)).get().extracting(Event::getTitle).isEqualTo("New");
+		assertThat(eventRepository.findById(kept.getId())).get()
+				.extracting(Event::getTitle, Event::getCreatedBy).containsExactly("Kept, renamed", "User");
+		assertThat(eventRepository.existsById(removed.getId())).isFalse();
+		assertThat(changeRepository.findAll()).extracting(EventChange::getChangeType)
+				.containsExactly(EventChange.Type.CREATED, EventChange.Type.UPDATED, EventChange.Type.DELETED);
+		verify(streamService, times(3)).publish(any());
+		verify(rangeCache, times(3)).invalidate("User");
+	}
+
+	@Test
+	void testApply_InvalidAndMissingItemsDoNotFailOthers() {
+		Event noOwner = event("No owner");
+		noOwner.setCreatedBy(null);
+		Event backwards = event("Backwards");
+		backwards.setEndTime(backwards.getStartTime().minusHours(1));
+		Event missing = event("Missing");
+		missing.setId(Long.MAX_VALUE);
+
+		EventBulkResult result = bulkService.apply(new EventBulkRequest(
+				List.of(event("Valid"), noOwner, backwards), List.of(missing), List.of(Long.MAX_VALUE)));
+
+		assertThat(result.results()).extracting(EventBulkResult.Item::status)
+				.containsExactly(Status.OK, Status.INVALID, Status.INVALID, Status.NOT_FOUND, Status.NOT_FOUND);
+		assertThat(result.results().get(1).error()).isEqualTo("createdBy is required");
+		assertThat(result.results().get(2).error()).isEqualTo("startTime must be before endTime");
+		assertThat(eventRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void testApply_UpdateKeepsFieldsItLeavesNull() {
+		Event stored = event("Planning");
+		stored.setDescription("Quarterly");
+		stored.setEvent_type("MEETING");
+		stored = eventRepository.save(stored);
+		Event update = new Event();
+		update.setId(stored.getId());
+		update.setEvent_type("WORKSHOP");
+		update.setEndTime(stored.getEndTime().plusHours(1));
+		Event backwards = new Event();
+		backwards.setId(stored.getId());
+		backwards.setEndTime(stored.getStartTime().minusHours(1));
+
+		EventBulkResult result = bulkService.apply(new EventBulkRequest(null, List.of(update, backwards), null));
+
+		assertThat(result.results()).extracting(EventBulkResult.Item::status).containsExactly(Status.OK, Status.INVALID);
+		assertThat(result.results().get(1).error()).isEqualTo("startTime must be before endTime");
+		assertThat(eventRepository.findById(stored.getId())).get()
+				.extracting(Event::getTitle, Event::getDescription, Event::getEvent_type, Event::getStartTime,
+						Event::getEndTime)
+				.containsExactly("Planning", "Quarterly", "WORKSHOP", stored.getStartTime(),
+						stored.getEndTime().plusHours(1));
+	}
+
+	@Test
+	void testApply_ConflictsAreReportedPerItem() {
+		EventBulkService checking = new EventBulkService(jdbcTemplate, transactionManager, rangeCache, streamService,
+				partitionService, new EventConflictService(eventRepository, partitionService, true), 2);
+		Event stored = eventRepository.save(event("Stored"));
+		Event moved = eventRepository.save(event("Moved"));
+		moved.setStartTime(moved.getStartTime().plusDays(1));
+		moved = eventRepository.save(moved);
+		Event overlapsStored = event("Overlaps stored");
+		Event later = event("Later");
+		later.setStartTime(later.getStartTime().plusHours(2));
+		later.setEndTime(later.getEndTime().plusHours(2));
+		Event overlapsLater = event("Overlaps later");
+		overlapsLater.setStartTime(later.getStartTime().plusMinutes(30));
+		overlapsLater.setEndTime(later.getEndTime().plusMinutes(30));
+		Event move = new Event();
+		move.setId(moved.getId());
+		move.setStartTime(stored.getStartTime());
+		move.setEndTime(stored.getEndTime());
+		Event rename = new Event();
+		rename.setId(stored.getId());
+		rename.setTitle("Stored, renamed");
+
+		EventBulkResult result = checking.apply(new EventBulkRequest(List.of(later, overlapsLater, overlapsStored),
+				List.of(move, rename), null));
+
+		assertThat(result.results()).extracting(EventBulkResult.Item::status)
+				.containsExactly(Status.OK, Status.CONFLICT, Status.CONFLICT, Status.CONFLICT, Status.OK);
+		assertThat(result.results().get(1).error()).isEqualTo("Overlaps CREATE 0");
+		assertThat(result.results().get(2).error()).isEqualTo("Overlaps event " + stored.getId());
+		assertThat(result.results().get(3).error()).isEqualTo("Overlaps event " + stored.getId());
+		assertThat(eventRepository.findAll()).extracting(Event::getTitle)
+				.containsExactlyInAnyOrder("Stored, renamed", "Moved", "Later");
+	}
+
+	@Test
+	void testApply_DatabaseErrorFailsOnlyItsChunk() {
+		Event tooLong = event("x".repeat(300));
+
+		EventBulkResult result = bulkService.apply(new EventBulkRequest(
+				List.of(event("First"), event("Second"), event("Third"), tooLong), null, null));
+
+		assertThat(result.results()).extracting(EventBulkResult.Item::status)
+				.containsExactly(Status.OK, Status.OK, Status.FAILED, Status.FAILED);
+		assertThat(result.results().get(2).id()).isNull();
+		assertThat(result.results().get(2).error()).startsWith("Chunk rolled back: ");
+		assertThat(eventRepository.findAll()).extracting(Event::getTitle).containsExactlyInAnyOrder("First", "Second");
+		assertThat(changeRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void testApply_RejectsEmptyAndOversizedRequests() {
+		assertThatThrownBy(() -> bulkService.apply(new EventBulkRequest(null, null, null)))
+				.isInstanceOf(IllegalArgumentException.class);
+		List<Long> ids = LongStream.rangeClosed(1, EventBulkService.MAX_ITEMS + 1).boxed().toList();
+		assertThatThrownBy(() -> bulkService.apply(new EventBulkRequest(null, null, ids)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Event event(String title) {
+		Event event = new Event();
+		event.setTitle(title);
+		event.setCreatedBy("User");
+		event.setStartTime(LocalDateTime.of(2025, 9, 22, 10, 0));
+		event.setEndTime(LocalDateTime.of(2025, 9, 22, 11, 0));
+		return event;
+	}
+}
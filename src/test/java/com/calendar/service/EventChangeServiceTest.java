@@ -0,0 +1,143 @@
+package com.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.repository.EventChangeRepository;
+import com.calendar.repository.EventRepository;
+
+@DataJpaTest
+@Import(EventChangeService.class)
+@TestPropertySource(properties = {
+	"spring.datasource.url=jdbc:h2:mem:changetestdb",
+	"spring.datasource.driverClassName=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	// rolled-back test transactions leave id gaps; only the out-of-order test waits on them
+	"calendar.changes.gap-timeout-seconds=0"
+})
+public class EventChangeServiceTest {
+
+	@Autowired
+	private EventChangeService changeService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private EventChangeRepository changeRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void testFindChanges_CoalescesPerEventAndFollowsToken() {
+		Event kept = save("Kept");
+		Event removed = save("Removed");
+		changeService.record(kept, EventChange.Type.CREATED);
+		changeService.record(removed, EventChange.Type.CREATED);
+		kept.setTitle("Kept, renamed");
+		changeService.record(kept, EventChange.Type.UPDATED);
+		eventRepository.delete(removed);
+		changeService.record(removed, EventChange.Type.DELETED);
+
+		EventChanges first = changeService.findChanges(null, null, 100);
+
+		assertThat(first.changes()).extracting(EventChanges.Entry::eventId)
+				.containsExactly(kept.getId(), removed.getId());
+		assertThat(first.changes()).extracting(EventChanges.Entry::type)
+				.containsExactly(EventChange.Type.UPDATED, EventChange.Type.DELETED);
+		assertThat(first.changes().get(0).event().getTitle()).isEqualTo("Kept, renamed");
+		assertThat(first.changes().get(1).event()).isNull();
+		assertThat(first.hasMore()).isFalse();
+
+		EventChanges next = changeService.findChanges(first.nextToken(), null, 100);
+		assertThat(next.changes()).isEmpty();
+		assertThat(next.nextToken()).isEqualTo(first.nextToken());
+	}
+
+	@Test
+	void testFindChanges_PagesAndFiltersByUser() {
+		Event mine = save("Mine");
+		Event other = save("Other");
+		other.setCreatedBy("Someone");
+		changeService.record(mine, EventChange.Type.CREATED);
+		changeService.record(other, EventChange.Type.CREATED);
+		changeService.record(mine, EventChange.Type.UPDATED);
+
+		EventChanges page = changeService.findChanges(null, "User", 1);
+
+		assertThat(page.changes()).extracting(EventChanges.Entry::type).containsExactly(EventChange.Type.CREATED);
+		assertThat(page.hasMore()).isTrue();
+		assertThat(changeService.findChanges(page.nextToken(), "User", 1).changes())
+				.extracting(EventChanges.Entry::type).containsExactly(EventChange.Type.UPDATED);
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void testFindChanges_WaitsForAnEarlierChangeThatCommitsLater() {
+		EventChangeService waiting = new EventChangeService(changeRepository, eventRepository, 60);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		try {
+			Event first = transaction.execute(status -> save("First"));
+			Event second = transaction.execute(status -> save("Second"));
+			transaction.executeWithoutResult(status -> changeService.record(first, EventChange.Type.CREATED));
+			String token = transaction.execute(status -> changeService.findChanges(null, null, 100)).nextToken();
+
+			transaction.executeWithoutResult(open -> {
+				changeService.record(first, EventChange.Type.UPDATED);
+				transaction.executeWithoutResult(status -> changeService.record(second, EventChange.Type.CREATED));
+
+				// the second change is visible, the first one has the lower id but is not committed yet
+				EventChanges whileOpen = transaction.execute(status -> waiting.findChanges(token, null, 100));
+				assertThat(whileOpen.changes()).isEmpty();
+				assertThat(whileOpen.nextToken()).isEqualTo(token);
+			});
+
+			EventChanges afterCommit = transaction.execute(status -> waiting.findChanges(token, null, 100));
+			assertThat(afterCommit.changes()).extracting(EventChanges.Entry::eventId)
+					.containsExactly(first.getId(), second.getId());
+		} finally {
+			transaction.executeWithoutResult(status -> {
+				changeRepository.deleteAll();
+				eventRepository.deleteAll();
+			});
+		}
+	}
+
+	@Test
+	void testFindChanges_InvalidArguments() {
+		assertThatThrownBy(() -> changeService.findChanges(null, null, 0))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> changeService.findChanges("not a token", null, 10))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid token");
+	}
+
+	private Event save(String title) {
+		Event event = new Event();
+		event.setTitle(title);
+		event.setCreatedBy("User");
+		event.setStartTime(LocalDateTime.of(2025, 9, 22, 10, 0));
+		event.setEndTime(LocalDateTime.of(2025, 9, 22, 11, 0));
+		return eventRepository.save(event);
+	}
+}
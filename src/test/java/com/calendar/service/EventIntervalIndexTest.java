@@ -0,0 +1,70 @@
+package com.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.calendar.domain.Event;
+
+public class EventIntervalIndexTest {
+
+	private static final LocalDateTime BASE = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+	@Test
+	void testFindOverlapping_IncludesEventsStartedBeforeWindow() {
+		EventIntervalIndex index = new EventIntervalIndex(List.of(
+				event(1L, BASE.minusDays(3), BASE.plusDays(10)),
+				event(2L, BASE.plusDays(1), BASE.plusDays(1).plusHours(1)),
+				event(3L, BASE.minusDays(1), BASE)));
+
+		List<Event> result = index.findOverlapping(BASE, BASE.plusDays(2));
+
+		assertThat(result).extracting(Event::getId).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void testFindOverlapping_MatchesBruteForce() {
+		Random random = new Random(42);
+		List<Event> events = new ArrayList<>();
+		for (long id = 0; id < 2_000; id++) {
+			LocalDateTime start = BASE.plusMinutes(random.nextInt(60 * 24 * 90));
+			events.add(event(id, start, start.plusMinutes(random.nextInt(60 * 24 * 7))));
+		}
+		EventIntervalIndex index = new EventIntervalIndex(events);
+
+		for (int i = 0; i < 200; i++) {
+			LocalDateTime from = BASE.plusMinutes(random.nextInt(60 * 24 * 100) - 60 * 24 * 5);
+			LocalDateTime to = from.plusMinutes(random.nextInt(60 * 24 * 31));
+
+			List<Event> expected = events.stream()
+					.filter(e -> e.getStartTime().isBefore(to) && e.getEndTime().isAfter(from))
+					.sorted(Comparator.comparing(Event::getStartTime).thenComparing(Event::getId))
+					.toList();
+
+			assertThat(index.findOverlapping(from, to)).containsExactlyElementsOf(expected);
+		}
+	}
+
+	@Test
+	void testEmptyIndex() {
+		EventIntervalIndex index = new EventIntervalIndex(List.of());
+
+		assertThat(index.size()).isZero();
+		assertThat(index.findOverlapping(BASE, BASE.plusDays(1))).isEmpty();
+	}
+
+	static Event event(Long id, LocalDateTime start, LocalDateTime end) {
+		Event event = new Event();
+		event.setId(id);
+		event.setCreatedBy("TestUser");
+		event.setStartTime(start);
+		event.setEndTime(end);
+		return event;
+	}
+}
@@ -0,0 +1,89 @@
+package com.calendar.service;
+
+import static com.calendar.service.EventIntervalIndexTest.event;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.calendar.domain.Event;
+
+public class EventOccurrencesTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 9, 1, 10, 0);
+
+	@Test
+	void testWeeklySeries_OnlyOccurrencesInWindow() {
+		Event series = series("FREQ=WEEKLY", START, START.plusHours(1));
+
+		List<Event> result = EventOccurrences.between(series, START.plusWeeks(52), START.plusWeeks(54)).toList();
+
+		assertThat(result).extracting(Event::getStartTime)
+				.containsExactly(START.plusWeeks(52), START.plusWeeks(53));
+		assertThat(result).extracting(Event::getId).containsOnly(1L);
+		assertThat(result.get(0).getEndTime()).isEqualTo(START.plusWeeks(52).plusHours(1));
+	}
+
+	@Test
+	void testOccurrenceStartedBeforeWindowIsIncluded() {
+		Event series = series("FREQ=DAILY", START, START.plusHours(3));
+
+		List<Event> result = EventOccurrences.between(series, START.plusDays(2).plusHours(2), START.plusDays(2).plusHours(4))
+				.toList();
+
+		assertThat(result).extracting(Event::getStartTime).containsExactly(START.plusDays(2));
+	}
+
+	@Test
+	void testCountIntervalAndExceptions() {
+		Event series = series("FREQ=DAILY;INTERVAL=2;COUNT=5", START, START.plusHours(1));
+		series.setRecurrenceExceptions(List.of(START.plusDays(4)));
+
+		List<Event> result = EventOccurrences.between(series, START.minusDays(1), START.plusDays(30)).toList();
+
+		assertThat(result).extracting(Event::getStartTime)
+				.containsExactly(START, START.plusDays(2), START.plusDays(6), START.plusDays(8));
+	}
+
+	@Test
+	void testMonthlyUntilClampsToMonthEnd() {
+		LocalDateTime start = LocalDateTime.of(2025, 1, 31, 9, 0);
+		Event series = series("FREQ=MONTHLY;UNTIL=20250430", start, start.plusHours(1));
+
+		List<Event> result = EventOccurrences.between(series, start, start.plusYears(1)).toList();
+
+		assertThat(result).extracting(Event::getStartTime).containsExactly(start,
+				LocalDateTime.of(2025, 2, 28, 9, 0), LocalDateTime.of(2025, 3, 31, 9, 0),
+				LocalDateTime.of(2025, 4, 30, 9, 0));
+	}
+
+	@Test
+	void testLastStart() {
+		assertThat(RecurrenceRule.parse("FREQ=WEEKLY;COUNT=3").lastStart(START)).isEqualTo(START.plusWeeks(2));
+		assertThat(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20250905T100000Z").lastStart(START)).isEqualTo(START.plusDays(4));
+		assertThat(RecurrenceRule.parse("FREQ=DAILY").lastStart(START)).isNull();
+	}
+
+	@Test
+	void testParse_CanonicalFormAndErrors() {
+		assertThat(RecurrenceRule.parse("RRULE:freq=weekly;interval=2;count=4"))
+				.hasToString("FREQ=WEEKLY;INTERVAL=2;COUNT=4");
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=YEARLY"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20251231"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Event series(String rule, LocalDateTime start, LocalDateTime end) {
+		Event series = event(1L, start, end);
+		series.setRecurrenceRule(rule);
+		return series;
+	}
+}
@@ -0,0 +1,83 @@
+package com.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.calendar.domain.Event;
+
+public class EventPartitionServiceTest {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2025, 9, 22, 0, 0);
+
+	@Test
+	void testDisabled_NoLowerBoundAndNoDurationLimit() {
+		EventPartitionService service = service(false);
+
+		assertThat(service.earliestStart(FROM)).isEqualTo(EventPartitionService.EARLIEST);
+		service.checkDuration(event(FROM, FROM.plusDays(100)));
+		assertThat(service.createPartitions()).isEmpty();
+		assertThat(service.archivePartitions()).isEmpty();
+	}
+
+	@Test
+	void testEnabledButNotPostgreSql_NoLowerBoundAndNoDurationLimit() {
+		DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:partitiontestdb", "sa", "");
+		EventPartitionService service = new EventPartitionService(new JdbcTemplate(h2), null, true,
+				Duration.ofDays(31), 2, 36, "");
+
+		service.initialize();
+
+		assertThat(service.isActive()).isFalse();
+		assertThat(service.earliestStart(FROM)).isEqualTo(EventPartitionService.EARLIEST);
+		service.checkDuration(event(FROM, FROM.plusDays(100)));
+	}
+
+	@Test
+	void testPartitioned_BoundsStartByMaxDuration() {
+		EventPartitionService service = service(true);
+		service.setActive(true);
+
+		assertThat(service.earliestStart(FROM)).isEqualTo(FROM.minusDays(31));
+		service.checkDuration(event(FROM, FROM.plusDays(31)));
+		assertThatThrownBy(() -> service.checkDuration(event(FROM, FROM.plusDays(31).plusMinutes(1))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Events may last at most 31 days");
+	}
+
+	@Test
+	void testMonthsToKeep_LastMonthThroughMonthsAhead() {
+		assertThat(service(true).monthsToKeep(YearMonth.of(2025, 12)))
+				.containsExactly(YearMonth.of(2025, 11), YearMonth.of(2025, 12), YearMonth.of(2026, 1),
+						YearMonth.of(2026, 2));
+	}
+
+	@Test
+	void testPartitionNamesAndBounds() {
+		YearMonth month = YearMonth.of(2025, 12);
+
+		assertThat(EventPartitionService.partitionName(month)).isEqualTo("event_p202512");
+		assertThat(EventPartitionService.monthOf("event_p202512")).isEqualTo(month);
+		assertThat(EventPartitionService.monthOf(EventPartitionService.DEFAULT_PARTITION)).isNull();
+		assertThat(EventPartitionService.bounds(month)).isEqualTo("('2025-12-01') TO ('2026-01-01')");
+		assertThat(EventPartitionService.interval(Duration.ofDays(1))).isEqualTo("interval '86400 seconds'");
+	}
+
+	private static EventPartitionService service(boolean enabled) {
+		return new EventPartitionService(null, null, enabled, Duration.ofDays(31), 2, 36, "");
+	}
+
+	private static Event event(LocalDateTime start, LocalDateTime end) {
+		Event event = new Event();
+		event.setStartTime(start);
+		event.setEndTime(end);
+		return event;
+	}
+}
@@ -0,0 +1,92 @@
+package com.calendar.service;
+
+import static com.calendar.service.EventIntervalIndexTest.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.calendar.domain.Event;
+
+public class EventRangeCacheTest {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2025, 9, 22, 0, 0);
+	private static final LocalDateTime TO = FROM.plusDays(1);
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private final Function<Limit, List<Event>> loader = limit -> {
+		loads.incrementAndGet();
+		return List.of(event(1L, FROM.plusHours(10), FROM.plusHours(11)));
+	};
+
+	@Test
+	void testDisabledCacheNeverLoads() {
+		EventRangeCache cache = new EventRangeCache(false, 10, 100);
+
+		assertThat(cache.findInRange("TestUser", FROM, TO, loader)).isEmpty();
+		assertThat(loads).hasValue(0);
+	}
+
+	@Test
+	void testLoadsOnceUntilInvalidated() {
+		EventRangeCache cache = new EventRangeCache(true, 10, 100);
+
+		assertThat(cache.findInRange("TestUser", FROM, TO, loader)).hasValueSatisfying(events -> assertThat(events).hasSize(1));
+		cache.findInRange("TestUser", FROM, TO, loader);
+		assertThat(loads).hasValue(1);
+
+		cache.invalidate("TestUser");
+		cache.findInRange("TestUser", FROM, TO, loader);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void testEvictsLeastRecentlyUsedUser() {
+		EventRangeCache cache = new EventRangeCache(true, 2, 100);
+
+		cache.findInRange("a", FROM, TO, loader);
+		cache.findInRange("b", FROM, TO, loader);
+		cache.findInRange("a", FROM, TO, loader);
+		cache.findInRange("c", FROM, TO, loader);
+
+		assertThat(cache.cachedUsers()).isEqualTo(2);
+		cache.findInRange("a", FROM, TO, loader);
+		assertThat(loads).hasValue(3);
+		cache.findInRange("b", FROM, TO, loader);
+		assertThat(loads).hasValue(4);
+	}
+
+	@Test
+	void testSkipsUsersAboveEventLimit() {
+		EventRangeCache cache = new EventRangeCache(true, 10, 1);
+		Function<Limit, List<Event>> bigLoader = limit -> List.of(
+				event(1L, FROM, FROM.plusHours(1)),
+				event(2L, FROM.plusHours(2), FROM.plusHours(3)));
+
+		assertThat(cache.findInRange("TestUser", FROM, TO, bigLoader)).isEmpty();
+		assertThat(cache.cachedUsers()).isZero();
+	}
+
+	@Test
+	void testLoadsUsersAboveEventLimitOnceUntilInvalidated() {
+		EventRangeCache cache = new EventRangeCache(true, 10, 1);
+		Function<Limit, List<Event>> bigLoader = limit -> {
+			loads.incrementAndGet();
+			return List.of(event(1L, FROM, FROM.plusHours(1)), event(2L, FROM.plusHours(2), FROM.plusHours(3)));
+		};
+
+		assertThat(cache.findInRange("TestUser", FROM, TO, bigLoader)).isEmpty();
+		assertThat(cache.findInRange("TestUser", FROM, TO, bigLoader)).isEmpty();
+		assertThat(loads).hasValue(1);
+
+		cache.invalidate("TestUser");
+		cache.findInRange("TestUser", FROM, TO, bigLoader);
+		assertThat(loads).hasValue(2);
+	}
+}
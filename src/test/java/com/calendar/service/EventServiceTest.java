@@ -2,6 +2,8 @@ package com.calendar.service;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDate;
@@ -9,15 +11,21 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
 import com.calendar.domain.Event;
+import com.calendar.domain.EventChange;
+import com.calendar.domain.EventSummary;
 import com.calendar.repository.EventRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +34,24 @@ public class EventServiceTest {
 	@Mock
 	private EventRepository eventRepository;
 
+	@Mock
+	private EventRangeCache rangeCache;
+
+	@Mock
+	private EventChangeService changeService;
+
+	@Mock
+	private EventStreamService streamService;
+
+	@Mock
+	private EventPartitionService partitionService;
+
+	@Mock
+	private EventMetrics metrics;
+
+	@Mock
+	private EventConflictService conflictService;
+
 	@InjectMocks
 	private EventService eventService;
 
@@ -34,6 +60,7 @@ public class EventServiceTest {
 
 	@BeforeEach
 	void setUp() {
+		lenient().when(partitionService.earliestStart(any())).thenReturn(EventPartitionService.EARLIEST);
 		testEvent = new Event();
 		testEvent.setId(1L);
 		testEvent.setTitle("Original Title");
@@ -101,26 +128,6 @@ public class EventServiceTest {
 				.hasMessage("startTime must be before endTime");
 	}
 
-	@Test
-	void testUpdateEvent_Success() {
-		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-		when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
-
-		Event result = eventService.updateEvent(1L, updateEvent);
-
-		assertThat(result).isNotNull();
-		assertThat(result.getId()).isEqualTo(1L);
-		assertThat(result.getTitle()).isEqualTo("Updated Title");
-		assertThat(result.getDescription()).isEqualTo("Updated Description");
-		assertThat(result.getStartTime()).isEqualTo(LocalDateTime.of(2025, 9, 23, 14, 0));
-		assertThat(result.getEndTime()).isEqualTo(LocalDateTime.of(2025, 9, 23, 15, 0));
-		// CreatedBy should remain unchanged
-		assertThat(result.getCreatedBy()).isEqualTo("TestUser");
-
-		verify(eventRepository, times(1)).findById(1L);
-		verify(eventRepository, times(1)).save(any(Event.class));
-	}
-
 	@Test
 	void testFindById_Success() {
 		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
@@ -145,11 +152,47 @@ public class EventServiceTest {
 		verify(eventRepository, times(1)).findById(999L);
 	}
 
-	// TODO Null fields in updateEvent should not overwrite existing fields
+	@Test
+	void testUpdateEvent_Success() {
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+		when(eventRepository.saveAndFlush(testEvent)).thenReturn(testEvent);
+
+		Event result = eventService.updateEvent(1L, updateEvent);
+
+		assertThat(result.getTitle()).isEqualTo("Updated Title");
+		assertThat(result.getStartTime()).isEqualTo(LocalDateTime.of(2025, 9, 23, 14, 0));
+		assertThat(result.getEndTime()).isEqualTo(LocalDateTime.of(2025, 9, 23, 15, 0));
+		// new times load the event, so subscribers of the old window are told it moved away
+		verify(eventRepository, never()).patch(any(), any(), any(), any(), any(), any(), any());
+		ArgumentCaptor<EventNotification> notification = ArgumentCaptor.forClass(EventNotification.class);
+		verify(streamService).publish(notification.capture());
+		assertThat(notification.getValue().previousStartTime()).isEqualTo(LocalDateTime.of(2025, 9, 22, 10, 0));
+		assertThat(notification.getValue().previousEndTime()).isEqualTo(LocalDateTime.of(2025, 9, 22, 11, 0));
+		verify(rangeCache).invalidate("TestUser");
+	}
+
+	@Test
+	void testUpdateEvent_KeepingTimesIsOneConditionalUpdate() {
+		when(eventRepository.patch(eq(1L), isNull(), eq("Updated Title"), isNull(), isNull(), isNull(), isNull()))
+				.thenReturn(1);
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+		Event result = eventService.updateEvent(1L,
+				new EventPatch(null, "Updated Title", null, null, null, null, null, null));
+
+		assertThat(result).isSameAs(testEvent);
+		// one conditional UPDATE, then the row is read back; nothing is merged in memory
+		verify(eventRepository, never()).save(any(Event.class));
+		verify(eventRepository, never()).saveAndFlush(any(Event.class));
+		verify(rangeCache).invalidate("TestUser");
+	}
+
 	@Test
 	void testUpdateEvent_PartialUpdate() {
+		// stored rules are canonical, as applyRecurrence writes them
+		testEvent.setRecurrenceRule("FREQ=WEEKLY;INTERVAL=1");
 		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-		when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+		when(eventRepository.saveAndFlush(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
 		Event partialUpdate = new Event();
 		partialUpdate.setTitle("New Title Only");
@@ -160,13 +203,14 @@ public class EventServiceTest {
 		Event result = eventService.updateEvent(1L, partialUpdate);
 
 		assertThat(result.getTitle()).isEqualTo("New Title Only");
-		// Description should be updated even if null is passed
-		assertThat(result.getDescription()).isNull();
-		assertThat(result.getStartTime()).isNull();
-		assertThat(result.getEndTime()).isNull();
+		// Null fields keep their stored values
+		assertThat(result.getDescription()).isEqualTo("Original Description");
+		assertThat(result.getStartTime()).isEqualTo(LocalDateTime.of(2025, 9, 22, 10, 0));
+		assertThat(result.getEndTime()).isEqualTo(LocalDateTime.of(2025, 9, 22, 11, 0));
+		assertThat(result.getRecurrenceRule()).isEqualTo("FREQ=WEEKLY;INTERVAL=1");
 
 		verify(eventRepository, times(1)).findById(1L);
-		verify(eventRepository, times(1)).save(any(Event.class));
+		verify(eventRepository, times(1)).saveAndFlush(any(Event.class));
 	}
 
 	@Test
@@ -174,10 +218,78 @@ public class EventServiceTest {
 		when(eventRepository.findById(999L)).thenReturn(Optional.empty());
 
 		assertThatThrownBy(() -> eventService.updateEvent(999L, updateEvent))
-				.isInstanceOf(java.util.NoSuchElementException.class);
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Event not found");
 
 		verify(eventRepository, times(1)).findById(999L);
-		verify(eventRepository, times(0)).save(any(Event.class));
+		verify(eventRepository, times(0)).saveAndFlush(any(Event.class));
+	}
+
+	@Test
+	void testUpdateEvent_VersionConflict() {
+		testEvent.setVersion(4);
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+		assertThatThrownBy(() -> eventService.updateEvent(1L,
+				new EventPatch(3L, "Stale", null, null, null, null, null, null)))
+				.isInstanceOf(OptimisticLockingFailureException.class)
+				.hasMessageContaining("current version is 4");
+
+		verify(eventRepository).patch(eq(1L), eq(3L), eq("Stale"), isNull(), isNull(), isNull(), isNull());
+		verify(eventRepository, never()).saveAndFlush(any(Event.class));
+		verify(changeService, never()).record(any(), any());
+	}
+
+	@Test
+	void testUpdateEvent_InvalidTimes() {
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+		assertThatThrownBy(() -> eventService.updateEvent(1L,
+				new EventPatch(0L, null, null, LocalDateTime.of(2025, 9, 22, 12, 0), null, null, null, null)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("startTime must be before endTime");
+		assertThatThrownBy(() -> eventService.updateEvent(1L,
+				new EventPatch(0L, null, null, updateEvent.getEndTime(), updateEvent.getStartTime(), null, null, null)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("startTime must be before endTime");
+
+		verify(eventRepository, never()).saveAndFlush(any(Event.class));
+	}
+
+	@Test
+	void testSaveEvent_RejectsConflict() {
+		doThrow(new EventConflictException(List.of(7L))).when(conflictService).check(testEvent);
+
+		assertThatThrownBy(() -> eventService.save(testEvent))
+				.isInstanceOf(EventConflictException.class)
+				.extracting(e -> ((EventConflictException) e).getConflictingIds())
+				.isEqualTo(List.of(7L));
+
+		verify(eventRepository, never()).save(any(Event.class));
+		verify(changeService, never()).record(any(), any());
+	}
+
+	@Test
+	void testUpdateEvent_ConflictDetectionLoadsEventWhenTimesChange() {
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+		when(eventRepository.saveAndFlush(testEvent)).thenReturn(testEvent);
+
+		eventService.updateEvent(1L, updateEvent);
+
+		// the conditional UPDATE cannot see other rows, so the event is loaded and checked
+		verify(eventRepository, never()).patch(any(), any(), any(), any(), any(), any(), any());
+		verify(conflictService).check(testEvent);
+	}
+
+	@Test
+	void testUpdateEvent_KeepingTimesSkipsConflictCheck() {
+		// the conditional UPDATE matches nothing, so the event is loaded; its times stay as they were
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+		when(eventRepository.saveAndFlush(testEvent)).thenReturn(testEvent);
+
+		eventService.updateEvent(1L, new EventPatch(null, "Renamed", null, null, null, null, null, null));
+
+		verify(conflictService, never()).check(any());
 	}
 
 	@Test
@@ -185,7 +297,7 @@ public class EventServiceTest {
 		LocalDate startDate = LocalDate.of(2025, 9, 20);
 		LocalDate endDate = LocalDate.of(2025, 9, 25);
 		LocalDateTime startDateTime = startDate.atStartOfDay();
-		LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
+		LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
 
 		Event event1 = new Event();
 		event1.setId(1L);
@@ -201,7 +313,7 @@ public class EventServiceTest {
 		events.add(event1);
 		events.add(event2);
 
-		when(eventRepository.findEventsByDateRange(startDateTime, endDateTime))
+		when(eventRepository.findEventsByDateRange(startDateTime, endDateTime, EventPartitionService.EARLIEST))
 				.thenReturn(events);
 
 		List<Event> result = eventService.searchEventsByDateRange(startDate, endDate);
@@ -211,7 +323,8 @@ public class EventServiceTest {
 		assertThat(result.get(0).getId()).isEqualTo(1L);
 		assertThat(result.get(1).getId()).isEqualTo(2L);
 
-		verify(eventRepository, times(1)).findEventsByDateRange(startDateTime, endDateTime);
+		verify(eventRepository, times(1)).findEventsByDateRange(startDateTime, endDateTime, EventPartitionService.EARLIEST);
+		verify(metrics).recordSearch(false, false, 2);
 	}
 
 	@Test
@@ -219,9 +332,9 @@ public class EventServiceTest {
 		LocalDate startDate = LocalDate.of(2025, 1, 1);
 		LocalDate endDate = LocalDate.of(2025, 1, 31);
 		LocalDateTime startDateTime = startDate.atStartOfDay();
-		LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
+		LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
 
-		when(eventRepository.findEventsByDateRange(startDateTime, endDateTime))
+		when(eventRepository.findEventsByDateRange(startDateTime, endDateTime, EventPartitionService.EARLIEST))
 				.thenReturn(new ArrayList<>());
 
 		List<Event> result = eventService.searchEventsByDateRange(startDate, endDate);
@@ -229,7 +342,7 @@ public class EventServiceTest {
 		assertThat(result).isNotNull();
 		assertThat(result).isEmpty();
 
-		verify(eventRepository, times(1)).findEventsByDateRange(startDateTime, endDateTime);
+		verify(eventRepository, times(1)).findEventsByDateRange(startDateTime, endDateTime, EventPartitionService.EARLIEST);
 	}
 
 	@Test
@@ -260,7 +373,7 @@ public class EventServiceTest {
 	void testSearchEventsByDateRange_SameDateRange() {
 		LocalDate date = LocalDate.of(2025, 9, 22);
 		LocalDateTime startDateTime = date.atStartOfDay();
-		LocalDateTime endDateTime = date.atTime(23, 59, 59);
+		LocalDateTime endDateTime = date.plusDays(1).atStartOfDay();
 
 		Event event = new Event();
 		event.setId(1L);
@@ -270,7 +383,7 @@ public class EventServiceTest {
 		List<Event> events = new ArrayList<>();
 		events.add(event);
 
-		when(eventRepository.findEventsByDateRange(startDateTime, endDateTime))
+		when(eventRepository.findEventsByDateRange(startDateTime, endDateTime, EventPartitionService.EARLIEST))
 				.thenReturn(events);
 
 		List<Event> result = eventService.searchEventsByDateRange(date, date);
@@ -278,6 +391,212 @@ public class EventServiceTest {
 		assertThat(result).hasSize(1);
 		assertThat(result.get(0).getTitle()).isEqualTo("Event on specific day");
 
-		verify(eventRepository, times(1)).findEventsByDateRange(startDateTime, endDateTime);
+		verify(eventRepository, times(1)).findEventsByDateRange(startDateTime, endDateTime, EventPartitionService.EARLIEST);
+	}
+
+	@Test
+	void testFindPage_FirstPage() {
+		when(eventRepository.findFirstPage(Limit.of(1))).thenReturn(List.of(testEvent));
+
+		EventPage page = eventService.findPage(null, 1);
+
+		assertThat(page.events()).containsExactly(testEvent);
+		assertThat(EventCursor.decode(page.nextCursor()))
+				.isEqualTo(new EventCursor(testEvent.getStartTime(), testEvent.getId()));
+	}
+
+	@Test
+	void testFindPage_FollowsCursor() {
+		String cursor = new EventCursor(LocalDateTime.of(2025, 9, 22, 10, 0), 1L).encode();
+		when(eventRepository.findPageAfter(LocalDateTime.of(2025, 9, 22, 10, 0), 1L, Limit.of(10)))
+				.thenReturn(List.of(updateEvent));
+
+		EventPage page = eventService.findPage(cursor, 10);
+
+		assertThat(page.events()).containsExactly(updateEvent);
+		assertThat(page.nextCursor()).isNull();
+	}
+
+	@Test
+	void testFindPage_InvalidArguments() {
+		assertThatThrownBy(() -> eventService.findPage(null, 0))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> eventService.findPage("not-a-cursor", 10))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid cursor");
+	}
+
+	@Test
+	void testSearchEventsByDateRangeForUser_FallsBackToQuery() {
+		LocalDate date = LocalDate.of(2025, 9, 22);
+		when(rangeCache.findInRange(eq("TestUser"), eq(date.atStartOfDay()), eq(date.plusDays(1).atStartOfDay()), any()))
+				.thenReturn(Optional.empty());
+		when(eventRepository.findEventsInRange("TestUser", date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+				EventPartitionService.EARLIEST))
+				.thenReturn(List.of(testEvent));
+
+		List<Event> result = eventService.searchEventsByDateRange("TestUser", date, date);
+
+		assertThat(result).containsExactly(testEvent);
+	}
+
+	@Test
+	void testSearchEventsByDateRangeForUser_ServedFromCache() {
+		LocalDate date = LocalDate.of(2025, 9, 22);
+		when(rangeCache.findInRange(eq("TestUser"), eq(date.atStartOfDay()), eq(date.plusDays(1).atStartOfDay()), any()))
+				.thenReturn(Optional.of(List.of(testEvent)));
+
+		List<Event> result = eventService.searchEventsByDateRange("TestUser", date, date);
+
+		assertThat(result).containsExactly(testEvent);
+		verify(eventRepository, never()).findEventsInRange(any(), any(), any(), any());
+	}
+
+	@Test
+	void testSaveEvent_InvalidatesCache() {
+		when(eventRepository.save(testEvent)).thenReturn(testEvent);
+
+		eventService.save(testEvent);
+
+		verify(rangeCache).invalidate("TestUser");
+	}
+
+	@Test
+	void testDeleteById_InvalidatesCache() {
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+		eventService.deleteById(1L);
+
+		verify(eventRepository).delete(testEvent);
+		verify(rangeCache).invalidate("TestUser");
+	}
+
+	@Test
+	void testSaveEvent_RecurringSeriesDerivesRecurrenceEnd() {
+		testEvent.setRecurrenceRule("freq=weekly;count=3");
+		when(eventRepository.save(testEvent)).thenReturn(testEvent);
+
+		Event result = eventService.save(testEvent);
+
+		assertThat(result.getRecurrenceRule()).isEqualTo("FREQ=WEEKLY;INTERVAL=1;COUNT=3");
+		assertThat(result.getRecurrenceEnd()).isEqualTo(LocalDateTime.of(2025, 10, 6, 11, 0));
+	}
+
+	@Test
+	void testSaveEvent_shouldFail_whenRecurrenceRuleInvalid() {
+		testEvent.setRecurrenceRule("FREQ=HOURLY");
+
+		assertThatThrownBy(() -> eventService.save(testEvent))
+				.isInstanceOf(IllegalArgumentException.class);
+		verify(eventRepository, never()).save(any(Event.class));
+	}
+
+	@Test
+	void testSearchEventsByDateRange_ExpandsSeriesInsideRange() {
+		LocalDate startDate = LocalDate.of(2025, 10, 6);
+		LocalDate endDate = LocalDate.of(2025, 10, 12);
+		LocalDateTime startDateTime = startDate.atStartOfDay();
+		LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+
+		Event single = new Event();
+		single.setId(2L);
+		single.setStartTime(LocalDateTime.of(2025, 10, 7, 9, 0));
+		single.setEndTime(LocalDateTime.of(2025, 10, 7, 10, 0));
+		testEvent.setRecurrenceRule("FREQ=DAILY;INTERVAL=3");
+
+		when(eventRepository.findEventsByDateRange(startDateTime, endDateTime, EventPartitionService.EARLIEST)).thenReturn(List.of(single));
+		when(eventRepository.findSeriesByDateRange(startDateTime, endDateTime)).thenReturn(List.of(testEvent));
+
+		List<Event> result = eventService.searchEventsByDateRange(startDate, endDate);
+
+		assertThat(result).extracting(Event::getStartTime).containsExactly(
+				LocalDateTime.of(2025, 10, 7, 9, 0),
+				LocalDateTime.of(2025, 10, 7, 10, 0),
+				LocalDateTime.of(2025, 10, 10, 10, 0));
+		assertThat(result).extracting(Event::getId).containsExactly(2L, 1L, 1L);
+	}
+
+	@Test
+	void testSearchSummariesByDateRange_UsesProjectionAndExpandsSeries() {
+		LocalDate date = LocalDate.of(2025, 10, 7);
+		LocalDateTime startDateTime = date.atStartOfDay();
+		LocalDateTime endDateTime = date.plusDays(1).atStartOfDay();
+		EventSummary single = new EventSummary(2L, "Single", LocalDateTime.of(2025, 10, 7, 9, 0),
+				LocalDateTime.of(2025, 10, 7, 9, 30), null);
+		testEvent.setRecurrenceRule("FREQ=DAILY");
+		when(rangeCache.findInRange(eq("TestUser"), eq(startDateTime), eq(endDateTime), any()))
+				.thenReturn(Optional.empty());
+		when(eventRepository.findSummariesInRange("TestUser", startDateTime, endDateTime,
+				EventPartitionService.EARLIEST)).thenReturn(List.of(single));
+		when(eventRepository.findSeriesInRange("TestUser", startDateTime, endDateTime)).thenReturn(List.of(testEvent));
+
+		List<EventSummary> result = eventService.searchSummariesByDateRange("TestUser", date, date);
+
+		assertThat(result).extracting(EventSummary::id, EventSummary::startTime).containsExactly(
+				tuple(2L, LocalDateTime.of(2025, 10, 7, 9, 0)),
+				tuple(1L, LocalDateTime.of(2025, 10, 7, 10, 0)));
+		verify(eventRepository, never()).findEventsInRange(any(), any(), any(), any());
+		verify(metrics).recordSearch(true, true, 2);
+	}
+
+	@Test
+	void testFindFreeBusy_MergesEventsAndOccurrences() {
+		LocalDateTime from = LocalDateTime.of(2025, 9, 22, 8, 0);
+		LocalDateTime to = LocalDateTime.of(2025, 9, 22, 18, 0);
+		List<String> users = List.of("TestUser", "Other");
+		testEvent.setStartTime(LocalDateTime.of(2025, 9, 20, 10, 30));
+		testEvent.setEndTime(LocalDateTime.of(2025, 9, 20, 12, 0));
+		testEvent.setRecurrenceRule("FREQ=DAILY");
+
+		when(eventRepository.streamBusyTimes(users, from, to, EventPartitionService.EARLIEST)).thenReturn(Stream.of(
+				new Object[] { LocalDateTime.of(2025, 9, 22, 9, 0), LocalDateTime.of(2025, 9, 22, 11, 0) },
+				new Object[] { LocalDateTime.of(2025, 9, 22, 14, 0), LocalDateTime.of(2025, 9, 22, 15, 0) }));
+		when(eventRepository.findSeriesOfUsersInRange(users, from, to)).thenReturn(List.of(testEvent));
+
+		FreeBusy result = eventService.findFreeBusy(users, from, to);
+
+		assertThat(result.busy()).containsExactly(
+				new FreeBusy.Interval(LocalDateTime.of(2025, 9, 22, 9, 0), LocalDateTime.of(2025, 9, 22, 12, 0)),
+				new FreeBusy.Interval(LocalDateTime.of(2025, 9, 22, 14, 0), LocalDateTime.of(2025, 9, 22, 15, 0)));
+		assertThat(result.free()).hasSize(3);
+	}
+
+	@Test
+	void testFindFreeBusy_InvalidArguments() {
+		LocalDateTime at = LocalDateTime.of(2025, 9, 22, 8, 0);
+
+		assertThatThrownBy(() -> eventService.findFreeBusy(List.of(), at, at.plusHours(1)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> eventService.findFreeBusy(List.of("TestUser"), at, at))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("from must be before to");
+	}
+
+	@Test
+	void testGetVersion_ValidatesRangeBeforeQuerying() {
+		assertThatThrownBy(() -> eventService.getVersion(LocalDate.of(2025, 12, 31), LocalDate.of(2025, 1, 1)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Start date must be before or equal to end date");
+		verify(eventRepository, never()).findVersionByDateRange(any(), any(), any());
+	}
+
+	@Test
+	void testWrites_RecordChanges() {
+		Event created = new Event();
+		created.setCreatedBy("TestUser");
+		created.setStartTime(LocalDateTime.of(2025, 9, 22, 10, 0));
+		created.setEndTime(LocalDateTime.of(2025, 9, 22, 11, 0));
+		when(eventRepository.save(created)).thenReturn(testEvent);
+		when(eventRepository.saveAndFlush(testEvent)).thenReturn(testEvent);
+		when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+		eventService.save(created);
+		eventService.updateEvent(1L, updateEvent);
+		eventService.deleteById(1L);
+
+		verify(changeService).record(testEvent, EventChange.Type.CREATED);
+		verify(changeService).record(testEvent, EventChange.Type.UPDATED);
+		verify(changeService).record(testEvent, EventChange.Type.DELETED);
+		verify(streamService, times(3)).publish(any(EventNotification.class));
 	}
-}
+}
\ No newline at end of file
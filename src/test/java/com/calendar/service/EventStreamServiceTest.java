@@ -0,0 +1,69 @@
+package com.calendar.service;
+
+import static com.calendar.service.EventIntervalIndexTest.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.calendar.domain.Event;
+
+public class EventStreamServiceTest {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2025, 9, 22, 0, 0);
+	private static final LocalDateTime TO = FROM.plusDays(1);
+
+	private final EventStreamService streamService = new EventStreamService(60_000, 4, 30);
+
+	@AfterEach
+	void tearDown() {
+		streamService.shutdown();
+	}
+
+	@Test
+	void testMatches_FiltersByOwnerAndWindow() {
+		EventNotification inside = EventNotification.of(event(1L, FROM.plusHours(9), FROM.plusHours(10)),
+				EventNotification.Type.CREATED);
+		EventNotification before = EventNotification.of(event(2L, FROM.minusHours(2), FROM),
+				EventNotification.Type.UPDATED);
+
+		assertThat(inside.matches(null, null, null)).isTrue();
+		assertThat(inside.matches("TestUser", FROM, TO)).isTrue();
+		assertThat(inside.matches("Someone", FROM, TO)).isFalse();
+		assertThat(before.matches("TestUser", FROM, TO)).isFalse();
+		assertThat(EventNotification.importCompleted(42L).matches("Someone", FROM, TO)).isTrue();
+	}
+
+	@Test
+	void testMatches_UpdateReachesTheWindowTheEventLeft() {
+		EventNotification moved = EventNotification.updated(event(1L, TO.plusHours(9), TO.plusHours(10)),
+				FROM.plusHours(9), FROM.plusHours(10));
+
+		assertThat(moved.matches("TestUser", FROM, TO)).isTrue();
+		assertThat(moved.matches("TestUser", TO, TO.plusDays(1))).isTrue();
+		assertThat(moved.matches("TestUser", TO.plusDays(1), TO.plusDays(2))).isFalse();
+	}
+
+	@Test
+	void testMatches_UnboundedSeriesReachesLaterWindows() {
+		Event series = event(1L, FROM.minusYears(1), FROM.minusYears(1).plusHours(1));
+		series.setRecurrenceRule("FREQ=WEEKLY;INTERVAL=1");
+
+		assertThat(EventNotification.of(series, EventNotification.Type.UPDATED).matches("TestUser", FROM, TO)).isTrue();
+	}
+
+	@Test
+	void testSubscribeRegistersAndPublishDoesNotBlock() {
+		streamService.subscribe("TestUser", null, null);
+		streamService.subscribe(null, FROM, TO);
+
+		for (int i = 0; i < 100; i++) {
+			streamService.publish(EventNotification.of(event((long) i, FROM.plusHours(1), FROM.plusHours(2)),
+					EventNotification.Type.CREATED));
+		}
+
+		assertThat(streamService.subscriberCount()).isLessThanOrEqualTo(2);
+	}
+}
@@ -0,0 +1,85 @@
+package com.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class FreeBusySweepTest {
+
+	private static final LocalDateTime FROM = LocalDateTime.of(2025, 9, 22, 8, 0);
+	private static final LocalDateTime TO = FROM.plusHours(10);
+
+	@Test
+	void testMergesOverlappingAndAdjacentIntervals() {
+		FreeBusySweep sweep = new FreeBusySweep(FROM, TO);
+		sweep.add(FROM.plusHours(1), FROM.plusHours(3));
+		sweep.add(FROM.plusHours(2), FROM.plusHours(4));
+		sweep.add(FROM.plusHours(4), FROM.plusHours(5));
+		sweep.add(FROM.plusHours(7), FROM.plusHours(8));
+
+		FreeBusy result = sweep.result();
+
+		assertThat(result.busy()).containsExactly(
+				interval(1, 5), interval(7, 8));
+		assertThat(result.free()).containsExactly(
+				interval(0, 1), interval(5, 7), interval(8, 10));
+	}
+
+	@Test
+	void testClipsToWindow() {
+		FreeBusySweep sweep = new FreeBusySweep(FROM, TO);
+		sweep.add(FROM.minusHours(2), FROM.plusHours(1));
+		sweep.add(FROM.plusHours(9), FROM.plusHours(12));
+		sweep.add(FROM.minusHours(5), FROM.minusHours(4));
+
+		FreeBusy result = sweep.result();
+
+		assertThat(result.busy()).containsExactly(interval(0, 1), interval(9, 10));
+		assertThat(result.free()).containsExactly(interval(1, 9));
+	}
+
+	@Test
+	void testEmptyWindowIsFree() {
+		FreeBusy result = new FreeBusySweep(FROM, TO).result();
+
+		assertThat(result.busy()).isEmpty();
+		assertThat(result.free()).containsExactly(interval(0, 10));
+	}
+
+	@Test
+	void testMatchesBruteForce() {
+		Random random = new Random(7);
+		FreeBusySweep sweep = new FreeBusySweep(FROM, TO);
+		boolean[] busyMinutes = new boolean[600];
+		for (int i = 0; i < 500; i++) {
+			int start = random.nextInt(700) - 50;
+			int end = start + random.nextInt(30);
+			sweep.add(FROM.plusMinutes(start), FROM.plusMinutes(end));
+			for (int m = Math.max(0, start); m < Math.min(600, end); m++) {
+				busyMinutes[m] = true;
+			}
+		}
+
+		List<FreeBusy.Interval> expected = new ArrayList<>();
+		for (int m = 0; m < 600; m++) {
+			if (busyMinutes[m] && (m == 0 || !busyMinutes[m - 1])) {
+				int end = m;
+				while (end < 600 && busyMinutes[end]) {
+					end++;
+				}
+				expected.add(new FreeBusy.Interval(FROM.plusMinutes(m), FROM.plusMinutes(end)));
+			}
+		}
+
+		assertThat(sweep.result().busy()).containsExactlyElementsOf(expected);
+	}
+
+	private static FreeBusy.Interval interval(int startHour, int endHour) {
+		return new FreeBusy.Interval(FROM.plusHours(startHour), FROM.plusHours(endHour));
+	}
+}
@@ -0,0 +1,80 @@
+package com.calendar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+public class ImportStagingServiceTest {
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	void testStageStreamCopiesBodyIntoStagingDir() throws Exception {
+		ImportStagingService service = new ImportStagingService(tempDir.resolve("staging"));
+		byte[] body = new byte[3 * 1024 * 1024 + 17];
+		for (int i = 0; i < body.length; i++) {
+			body[i] = (byte) ('a' + i % 26);
+		}
+
+		Path staged = service.stage(new ByteArrayInputStream(body));
+
+		assertThat(staged.getParent()).isEqualTo(tempDir.resolve("staging"));
+		assertThat(Files.readAllBytes(staged)).isEqualTo(body);
+		assertThat(service.isStaged(staged)).isTrue();
+	}
+
+	@Test
+	void testStageMultipartFile() throws Exception {
+		ImportStagingService service = new ImportStagingService(tempDir.resolve("staging"));
+
+		Path staged = service.stage(new MockMultipartFile("file", "events.csv", "text/csv", "a,b\n".getBytes()));
+
+		assertThat(staged).hasContent("a,b");
+	}
+
+	@Test
+	void testStageFileMovesItIntoStagingDir() throws Exception {
+		ImportStagingService service = new ImportStagingService(tempDir.resolve("staging"));
+		Path dropped = Files.writeString(tempDir.resolve("nightly.csv"), "a,b\n");
+
+		Path staged = service.stage(dropped);
+
+		assertThat(service.isStaged(staged)).isTrue();
+		assertThat(staged).hasContent("a,b");
+		assertThat(dropped).doesNotExist();
+	}
+
+	@Test
+	void testChecksumDependsOnlyOnContent() throws Exception {
+		ImportStagingService service = new ImportStagingService(tempDir.resolve("staging"));
+		Path first = service.stage(new ByteArrayInputStream("a,b\n".getBytes()));
+		Path second = service.stage(new MockMultipartFile("file", "other.csv", "text/csv", "a,b\n".getBytes()));
+		Path changed = service.stage(new ByteArrayInputStream("a,c\n".getBytes()));
+
+		assertThat(service.checksum(first))
+				.isEqualTo(service.checksum(second))
+				.isNotEqualTo(service.checksum(changed))
+				.hasSize(64);
+	}
+
+	@Test
+	void testReleaseOnlyDeletesStagedFiles() throws Exception {
+		ImportStagingService service = new ImportStagingService(tempDir.resolve("staging"));
+		Path staged = service.stage(new ByteArrayInputStream("x".getBytes()));
+		Path outside = Files.writeString(tempDir.resolve("keep.csv"), "x");
+
+		service.release(staged.toString());
+		service.release(outside.toString());
+		service.release(tempDir.resolve("staging/../keep.csv").toString());
+
+		assertThat(staged).doesNotExist();
+		assertThat(outside).exists();
+	}
+}